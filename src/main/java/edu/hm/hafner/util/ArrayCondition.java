@@ -0,0 +1,159 @@
+package edu.hm.hafner.util;
+
+import static edu.hm.hafner.util.Ensure.CHEAP_CHECKS;
+import static edu.hm.hafner.util.Ensure.FULL_CHECKS;
+import static edu.hm.hafner.util.Ensure.NO_ARGS;
+import static edu.hm.hafner.util.Ensure.throwException;
+
+import java.util.Formatter;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+
+/**
+ * Assertions for arrays.
+ *
+ * @author Ulli Hafner
+ */
+public class ArrayCondition extends ObjectCondition {
+    private final Object[] value;
+    @CheckForNull
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Creates a new instance of {@link IterableCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI2")
+    public ArrayCondition(@CheckForNull final Object[] value) {
+        this(value, null, 0);
+    }
+
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI2")
+    private ArrayCondition(@CheckForNull final Object[] value, @CheckForNull final ForkJoinPool pool,
+            final int threshold) {
+        super(value);
+
+        this.value = value;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns a condition that scans the elements of the array for <code>null</code> in parallel using the
+     * shared {@link ForkJoinPool} of this package. Arrays with at most {@value ParallelNullScan#DEFAULT_THRESHOLD}
+     * elements are scanned by the calling thread.
+     *
+     * @return a condition that scans in parallel
+     */
+    public ArrayCondition inParallel() {
+        return inParallel(ForkJoinPools.getSharedPool(), ParallelNullScan.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns a condition that scans the elements of the array for <code>null</code> in parallel using the
+     * specified {@link ForkJoinPool}.
+     *
+     * @param forkJoinPool
+     *            the pool to run the scan in
+     * @param segmentSize
+     *            the maximum number of elements a single task scans, arrays that are not larger are scanned by
+     *            the calling thread
+     * @return a condition that scans in parallel
+     */
+    public ArrayCondition inParallel(final ForkJoinPool forkJoinPool, final int segmentSize) {
+        Requirements.requireNotNull(forkJoinPool);
+        Requirements.requireTrue(segmentSize > 0, "Segment size must be positive: %d", segmentSize);
+
+        return new ArrayCondition(value, forkJoinPool, segmentSize);
+    }
+
+    /**
+     * Ensures that the given array is not <code>null</code> and contains
+     * at least one element. Additionally, ensures that each element of the
+     * array is not <code>null</code>. Arrays that are registered in the
+     * {@link ValidationCache} are scanned only once.
+     *
+     * @throws AssertionFailedException
+     *             if the array is empty (or <code>null</code>), or at least
+     *             one array element is <code>null</code>.
+     */
+    public void isNotEmpty() {
+        isNotEmpty("Array is empty or NULL", NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given array is not <code>null</code> and contains
+     * at least one element. Additionally, ensures that each element of the
+     * array is not <code>null</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the array is empty (or <code>null</code>), or at least
+     *             one array element is <code>null</code>.
+     */
+    public void isNotEmpty(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && isEmptyOrContainsNull()) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given array is not <code>null</code> and contains
+     * at least one element. Additionally, ensures that each element of the
+     * array is not <code>null</code>.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the array is empty (or <code>null</code>), or at least
+     *             one array element is <code>null</code>.
+     */
+    public void isNotEmpty(final Supplier<String> message) {
+        if (CHEAP_CHECKS && isEmptyOrContainsNull()) {
+            throwException(message);
+        }
+    }
+
+    private boolean isEmptyOrContainsNull() {
+        if (value == null || value.length == 0) {
+            return true;
+        }
+        if (!FULL_CHECKS || ValidationCache.isValidated(value)) {
+            return false;
+        }
+
+        boolean containsNull = containsNull();
+        if (!containsNull) {
+            ValidationCache.markValidated(value);
+        }
+        return containsNull;
+    }
+
+    private boolean containsNull() {
+        if (pool != null) {
+            return ParallelNullScan.containsNull(pool, value, threshold);
+        }
+        for (Object object : value) {
+            if (object == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,16 +1,93 @@
 package edu.hm.hafner.util;
 
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Joiner;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 
 /**
  * Thrown to indicate that a contract assertion check has been failed.
+ * <p>
+ * By default, each exception captures its stack trace and is logged when
+ * being created. Logging is asynchronous and rate limited per call site,
+ * see {@link FailureLogger}. If failures are expected and caught (e.g., when validating
+ * user input) this might be too expensive: then the lightweight mode can be
+ * activated, either with the system property {@value #LIGHTWEIGHT_PROPERTY}
+ * or with {@link #setLightweight(boolean)}. In lightweight mode exceptions
+ * neither capture a stack trace nor are logged. Moreover, checks that fail
+ * with a fixed message (i.e., a message without arguments) throw a shared,
+ * preallocated instance.
+ * </p>
  *
  * @author Ulli Hafner
  */
 public final class AssertionFailedException extends RuntimeException {
     private static final long serialVersionUID = -7033759120346380864L;
 
+    /** Name of the system property that activates the lightweight mode. */
+    public static final String LIGHTWEIGHT_PROPERTY = "edu.hm.hafner.util.AssertionFailedException.lightweight";
+
+    private static final int MAXIMUM_SHARED_INSTANCES = 256;
+
+    private static volatile boolean isLightweight = Boolean.getBoolean(LIGHTWEIGHT_PROPERTY);
+
+    /** Shared lightweight instances for checks with fixed messages. */
+    private static final LoadingCache<String, AssertionFailedException> SHARED_INSTANCES = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SHARED_INSTANCES)
+            .build(new CacheLoader<String, AssertionFailedException>() {
+                @Override
+                public AssertionFailedException load(final String message) {
+                    return new AssertionFailedException(String.format(message), null, null, true);
+                }
+            });
+
+    /**
+     * Activates or deactivates the lightweight mode.
+     *
+     * @param lightweight
+     *            <code>true</code> to create exceptions without stack trace
+     *            and logging, <code>false</code> to create exceptions with
+     *            stack trace and logging
+     */
+    public static void setLightweight(final boolean lightweight) {
+        isLightweight = lightweight;
+    }
+
+    /**
+     * Returns whether the lightweight mode is active.
+     *
+     * @return <code>true</code> if exceptions are created without stack trace
+     *         and logging, <code>false</code> otherwise
+     */
+    public static boolean isLightweight() {
+        return isLightweight;
+    }
+
+    /**
+     * Returns an exception for a check with the specified fixed message. In
+     * lightweight mode a shared instance is returned, otherwise a new
+     * instance.
+     *
+     * @param message
+     *            a {@link java.util.Formatter formatted message} without
+     *            arguments
+     * @return the exception
+     */
+    static AssertionFailedException withFixedMessage(final String message) {
+        if (isLightweight) {
+            return SHARED_INSTANCES.getUnchecked(message);
+        }
+        return new AssertionFailedException(String.format(message));
+    }
+
+    /** The messages of all violated contracts. */
+    private final ImmutableList<String> violations;
+
     /**
      * Constructs an {@link AssertionFailedException} with the specified
      * detail message.
@@ -19,9 +96,19 @@ public final class AssertionFailedException extends RuntimeException {
      *            the detail error message.
      */
     AssertionFailedException(final String message) {
-        super(message);
+        this(message, null, null, isLightweight);
+    }
 
-        log(this);
+    /**
+     * Constructs an {@link AssertionFailedException} for several violated
+     * contracts.
+     *
+     * @param violations
+     *            the error messages of the violated contracts
+     */
+    AssertionFailedException(final List<String> violations) {
+        this(violations.size() + " contract violations:\n" + Joiner.on('\n').join(violations), null, violations,
+                isLightweight);
     }
 
     /**
@@ -35,15 +122,39 @@ public final class AssertionFailedException extends RuntimeException {
      *         is permitted, and indicates that the cause is nonexistent or
      *         unknown.)
      */
-    AssertionFailedException(final String message, final Throwable cause) {
-        super(message, cause);
+    AssertionFailedException(final String message, @CheckForNull final Throwable cause) {
+        this(message, cause, null, isLightweight);
+    }
+
+    private AssertionFailedException(final String message, @CheckForNull final Throwable cause,
+            @CheckForNull final List<String> violations, final boolean lightweight) {
+        super(message, cause, !lightweight, !lightweight);
+
+        this.violations = violations == null ? asList(message) : ImmutableList.copyOf(violations);
+        if (!lightweight) {
+            log(cause == null ? this : cause);
+        }
+    }
+
+    /**
+     * Returns the messages of all violated contracts. If the exception has
+     * been thrown by a single check then the list contains just the detail
+     * message.
+     *
+     * @return the messages of the violated contracts
+     */
+    public List<String> getViolations() {
+        return violations;
+    }
 
-        log(cause);
+    private static ImmutableList<String> asList(@CheckForNull final String message) {
+        if (message == null) {
+            return ImmutableList.of();
+        }
+        return ImmutableList.of(message);
     }
 
     private static void log(final Throwable exception) {
-        LOGGER.log(Level.WARNING, "Assertion failed.", exception);
+        FailureLogger.getInstance().log(exception);
     }
-
-    private static final Logger LOGGER = Logger.getLogger(AssertionFailedException.class.getName());
 }
@@ -0,0 +1,231 @@
+package edu.hm.hafner.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counts the failed contract assertion checks of {@link Ensure} and the failed argument checks of the other classes
+ * of this package (e.g. {@link Singleton}) per condition and call site. The counters are published on the platform
+ * MBean server with the name {@value #OBJECT_NAME} as soon as the metrics are activated with the system property or
+ * obtained with {@link #getInstance()}. Failures are counted only on the failure path, passing checks do not touch
+ * the metrics at all. Since the call site is derived from the stack trace of each failure, counting is deactivated
+ * by default: it can be activated with the system property {@value #ENABLED_PROPERTY} or with
+ * {@link #setEnabled(boolean)}. In the {@link AssertionFailedException#isLightweight() lightweight mode} of the
+ * exceptions no stack trace is captured and failures are not counted.
+ *
+ * @author Ulli Hafner
+ */
+public final class AssertionFailureMetrics implements AssertionFailureMetricsMXBean {
+    /** Name of the MBean. */
+    public static final String OBJECT_NAME = "edu.hm.hafner.util:type=AssertionFailureMetrics";
+    /** Name of the system property that activates the metrics. */
+    public static final String ENABLED_PROPERTY = "edu.hm.hafner.util.AssertionFailureMetrics.enabled";
+
+    private static final boolean IS_ENABLED_BY_PROPERTY = Boolean.getBoolean(ENABLED_PROPERTY);
+    /** The shared metrics, <code>null</code> until {@link #getInstance()} has been called. */
+    @CheckForNull
+    private static volatile AssertionFailureMetrics shared;
+
+    /**
+     * Returns the metrics of this VM. The metrics are registered on the platform MBean server on first use.
+     *
+     * @return the metrics
+     */
+    public static AssertionFailureMetrics getInstance() {
+        return SharedMetricsHolder.INSTANCE;
+    }
+
+    /**
+     * Counts a failure of the calling check in the metrics of this VM. As long as the metrics have neither been
+     * activated with the system property nor been used with {@link #getInstance()}, nothing is counted and the
+     * metrics are not registered on the platform MBean server.
+     */
+    static void recordFailure() {
+        AssertionFailureMetrics metrics = shared;
+        if (metrics == null) {
+            if (!IS_ENABLED_BY_PROPERTY) {
+                return;
+            }
+            metrics = getInstance();
+        }
+        metrics.record();
+    }
+
+    /** The counters per condition and call site, replaced as a whole by {@link #reset()}. */
+    private volatile ConcurrentMap<String, StripedCounter> counters = new ConcurrentHashMap<String, StripedCounter>();
+    private volatile boolean isEnabled = IS_ENABLED_BY_PROPERTY;
+
+    /**
+     * Creates a new instance of {@link AssertionFailureMetrics}.
+     */
+    AssertionFailureMetrics() {
+        // use getInstance
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    @Override
+    public Map<String, Long> getFailureCounts() {
+        Map<String, Long> snapshot = new TreeMap<String, Long>();
+        for (Entry<String, StripedCounter> entry : counters.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > 0) {
+                snapshot.put(entry.getKey(), count);
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public long getTotalFailureCount() {
+        long total = 0;
+        for (StripedCounter counter : counters.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        counters = new ConcurrentHashMap<String, StripedCounter>();
+    }
+
+    /**
+     * Counts a failure of the calling check. The condition and call site are derived from the stack trace of the
+     * current thread. Nothing is counted if the metrics are deactivated or the exceptions are lightweight.
+     */
+    void record() {
+        if (isEnabled && !AssertionFailedException.isLightweight()) {
+            record(new Throwable().getStackTrace());
+        }
+    }
+
+    /**
+     * Counts a failure with the specified stack trace.
+     *
+     * @param stackTrace
+     *            the stack trace of the failure
+     */
+    void record(final StackTraceElement[] stackTrace) {
+        String key = getKey(stackTrace);
+        ConcurrentMap<String, StripedCounter> current = counters;
+        StripedCounter counter = current.get(key);
+        if (counter == null) {
+            StripedCounter created = new StripedCounter();
+            counter = current.putIfAbsent(key, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        counter.increment();
+    }
+
+    /**
+     * Returns the key of the failure with the specified stack trace: the outermost frame of the contract checks is the
+     * failed condition, the following frame is the call site.
+     *
+     * @param stackTrace
+     *            the stack trace of the failure
+     * @return the key of the failure
+     */
+    private String getKey(final StackTraceElement[] stackTrace) {
+        StackTraceElement condition = null;
+        for (StackTraceElement element : stackTrace) {
+            String className = element.getClassName();
+            if (Ensure.isContractClass(className)) {
+                condition = element;
+            }
+            else if (!className.equals(AssertionFailureMetrics.class.getName())) {
+                if (condition == null) {
+                    return element.toString();
+                }
+                return getConditionName(condition) + " at " + element;
+            }
+        }
+        return condition == null ? "unknown" : getConditionName(condition);
+    }
+
+    /**
+     * Returns the name of the condition, e.g. <code>ObjectCondition.isNotNull</code>. Helper classes nested in a
+     * condition are reported with the name of the condition.
+     *
+     * @param element
+     *            the stack frame of the condition
+     * @return the name of the condition
+     */
+    private String getConditionName(final StackTraceElement element) {
+        String className = element.getClassName();
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int nested = name.indexOf('$');
+        if (nested >= 0) {
+            name = name.substring(0, nested);
+        }
+        return name + '.' + element.getMethodName();
+    }
+
+    /**
+     * A counter that distributes the increments of different threads to different cells, so that concurrently
+     * failing threads do not contend on the same memory location.
+     */
+    private static final class StripedCounter {
+        /** Number of array elements between two cells, so that each cell is on its own cache line. */
+        private static final int PADDING = 8;
+        private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1)
+                << 1;
+
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+        void increment() {
+            long id = Thread.currentThread().getId();
+            int stripe = (int)(id ^ (id >>> 32)) & (STRIPES - 1);
+            cells.incrementAndGet(stripe * PADDING);
+        }
+
+        long sum() {
+            long sum = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                sum += cells.get(i * PADDING);
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Creates and registers the shared metrics on first use.
+     */
+    private static final class SharedMetricsHolder {
+        static final AssertionFailureMetrics INSTANCE = register();
+
+        private static AssertionFailureMetrics register() {
+            AssertionFailureMetrics metrics = new AssertionFailureMetrics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+            }
+            catch (JMException exception) {
+                Logger.getLogger(AssertionFailureMetrics.class.getName()).log(Level.WARNING,
+                        "Can't register assertion failure metrics", exception);
+            }
+            shared = metrics;
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package edu.hm.hafner.util;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link AssertionFailureMetrics}.
+ *
+ * @author Ulli Hafner
+ */
+public interface AssertionFailureMetricsMXBean {
+    /**
+     * Returns whether failures are counted.
+     *
+     * @return <code>true</code> if failures are counted, <code>false</code> otherwise
+     */
+    boolean isEnabled();
+
+    /**
+     * Activates or deactivates counting of failures.
+     *
+     * @param enabled
+     *            <code>true</code> to count failures, <code>false</code> otherwise
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns a snapshot of the failure counts. The keys consist of the failed condition and the call site, e.g.
+     * <code>ObjectCondition.isNotNull at com.acme.Foo.bar(Foo.java:42)</code>.
+     *
+     * @return the number of failures per condition and call site
+     */
+    Map<String, Long> getFailureCounts();
+
+    /**
+     * Returns the total number of failures.
+     *
+     * @return the number of failures
+     */
+    long getTotalFailureCount();
+
+    /**
+     * Resets all failure counts. Failures that are counted concurrently to the reset may be lost.
+     */
+    void reset();
+}
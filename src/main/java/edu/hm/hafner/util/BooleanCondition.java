@@ -0,0 +1,227 @@
+package edu.hm.hafner.util;
+
+import static edu.hm.hafner.util.Ensure.CHEAP_CHECKS;
+import static edu.hm.hafner.util.Ensure.NO_ARGS;
+import static edu.hm.hafner.util.Ensure.throwException;
+
+import java.util.Formatter;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+
+/**
+ * Assertions for booleans.
+ *
+ * @author Ulli Hafner
+ */
+public class BooleanCondition {
+    /** The value of the condition. */
+    private final boolean value;
+
+    /**
+     * Creates a new instance of {@link BooleanCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    public BooleanCondition(final boolean value) {
+        this.value = value;
+    }
+
+    /**
+     * Ensures that the given condition is <code>false</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than
+     *            format specifiers, the extra arguments are ignored. The
+     *            number of arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the condition is <code>true</code>
+     */
+    public void isFalse(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && value) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given condition is <code>false</code>.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the condition is <code>true</code>
+     */
+    public void isFalse(final Supplier<String> message) {
+        if (CHEAP_CHECKS && value) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the given condition is <code>false</code>.
+     *
+     * @throws AssertionFailedException
+     *             if the condition is <code>true</code>
+     */
+    public void isFalse() {
+        isFalse("Value is not FALSE", NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given condition is <code>false</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @throws AssertionFailedException
+     *             if the condition is <code>true</code>
+     */
+    public void isFalse(final String explanation) {
+        isFalse(explanation, NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given condition is <code>false</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param arg
+     *            the argument referenced by the format specifier in the
+     *            formatted explanation
+     * @throws AssertionFailedException
+     *             if the condition is <code>true</code>
+     */
+    public void isFalse(final String explanation, @CheckForNull final Object arg) {
+        if (CHEAP_CHECKS && value) {
+            throwException(explanation, arg);
+        }
+    }
+
+    /**
+     * Ensures that the given condition is <code>false</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param firstArg
+     *            the first argument referenced by the format specifiers in
+     *            the formatted explanation
+     * @param secondArg
+     *            the second argument referenced by the format specifiers in
+     *            the formatted explanation
+     * @throws AssertionFailedException
+     *             if the condition is <code>true</code>
+     */
+    public void isFalse(final String explanation, @CheckForNull final Object firstArg,
+            @CheckForNull final Object secondArg) {
+        if (CHEAP_CHECKS && value) {
+            throwException(explanation, firstArg, secondArg);
+        }
+    }
+
+    /**
+     * Ensures that the given condition is <code>true</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the condition is <code>false</code>
+     */
+    public void isTrue(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && !value) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given condition is <code>true</code>.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the condition is <code>false</code>
+     */
+    public void isTrue(final Supplier<String> message) {
+        if (CHEAP_CHECKS && !value) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the given condition is <code>true</code>.
+     *
+     * @throws AssertionFailedException
+     *             if the condition is <code>false</code>
+     */
+    public void isTrue() {
+        isTrue("Value is not TRUE", NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given condition is <code>true</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @throws AssertionFailedException
+     *             if the condition is <code>false</code>
+     */
+    public void isTrue(final String explanation) {
+        isTrue(explanation, NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given condition is <code>true</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param arg
+     *            the argument referenced by the format specifier in the
+     *            formatted explanation
+     * @throws AssertionFailedException
+     *             if the condition is <code>false</code>
+     */
+    public void isTrue(final String explanation, @CheckForNull final Object arg) {
+        if (CHEAP_CHECKS && !value) {
+            throwException(explanation, arg);
+        }
+    }
+
+    /**
+     * Ensures that the given condition is <code>true</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param firstArg
+     *            the first argument referenced by the format specifiers in
+     *            the formatted explanation
+     * @param secondArg
+     *            the second argument referenced by the format specifiers in
+     *            the formatted explanation
+     * @throws AssertionFailedException
+     *             if the condition is <code>false</code>
+     */
+    public void isTrue(final String explanation, @CheckForNull final Object firstArg,
+            @CheckForNull final Object secondArg) {
+        if (CHEAP_CHECKS && !value) {
+            throwException(explanation, firstArg, secondArg);
+        }
+    }
+}
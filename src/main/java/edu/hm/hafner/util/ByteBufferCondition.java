@@ -0,0 +1,307 @@
+package edu.hm.hafner.util;
+
+import static edu.hm.hafner.util.Ensure.CHEAP_CHECKS;
+import static edu.hm.hafner.util.Ensure.FULL_CHECKS;
+import static edu.hm.hafner.util.Ensure.throwException;
+
+import java.nio.ByteBuffer;
+import java.util.Formatter;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+
+/**
+ * Assertions for the remaining bytes of a {@link ByteBuffer}, i.e. the bytes between position and limit. The bytes are
+ * validated in place with absolute get operations: neither the position of the buffer is changed nor are the bytes
+ * copied, so direct and memory mapped buffers are validated without copying them to the heap. Text checks interpret
+ * the bytes as UTF-8. Checks that scan the bytes are {@link ContractLevel#FULL full} checks, failures report the
+ * absolute index of the offending byte.
+ *
+ * @author Ulli Hafner
+ */
+public class ByteBufferCondition extends ObjectCondition {
+    @CheckForNull
+    private final ByteBuffer value;
+
+    /**
+     * Creates a new instance of {@link ByteBufferCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    public ByteBufferCondition(@CheckForNull final ByteBuffer value) {
+        super(value);
+
+        this.value = value;
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and has at least one remaining byte.
+     *
+     * @throws AssertionFailedException
+     *             if the buffer is empty (or <code>null</code>)
+     */
+    public void isNotEmpty() {
+        if (CHEAP_CHECKS && (value == null || !value.hasRemaining())) {
+            throwException("The buffer is empty or NULL");
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and has at least one remaining byte.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the buffer is empty (or <code>null</code>)
+     */
+    public void isNotEmpty(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && (value == null || !value.hasRemaining())) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and has at least one remaining byte.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the buffer is empty (or <code>null</code>)
+     */
+    public void isNotEmpty(final Supplier<String> message) {
+        if (CHEAP_CHECKS && (value == null || !value.hasRemaining())) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and contains at least one non-whitespace character.
+     *
+     * @throws AssertionFailedException
+     *             if the buffer is blank (or <code>null</code>)
+     */
+    public void isNotBlank() {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && isBlank()) {
+            throwException("The buffer is blank");
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and contains at least one non-whitespace character.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the buffer is blank (or <code>null</code>)
+     */
+    public void isNotBlank(final String explanation, final Object... args) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && isBlank()) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and contains at least one non-whitespace character.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the buffer is blank (or <code>null</code>)
+     */
+    public void isNotBlank(final Supplier<String> message) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && isBlank()) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and the number of remaining bytes is within the specified range.
+     *
+     * @param minimum
+     *            the minimum number of remaining bytes (inclusive)
+     * @param maximum
+     *            the maximum number of remaining bytes (inclusive)
+     * @throws AssertionFailedException
+     *             if the buffer is <code>null</code> or the number of remaining bytes is out of range
+     */
+    public void hasLengthBetween(final int minimum, final int maximum) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && (value.remaining() < minimum || value.remaining() > maximum)) {
+            throwException("The buffer length is not between %d and %d: %d", minimum, maximum, value.remaining());
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and the number of remaining bytes is within the specified range.
+     *
+     * @param minimum
+     *            the minimum number of remaining bytes (inclusive)
+     * @param maximum
+     *            the maximum number of remaining bytes (inclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the buffer is <code>null</code> or the number of remaining bytes is out of range
+     */
+    public void hasLengthBetween(final int minimum, final int maximum, final String explanation, final Object... args) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && (value.remaining() < minimum || value.remaining() > maximum)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and the number of remaining bytes is within the specified range.
+     *
+     * @param minimum
+     *            the minimum number of remaining bytes (inclusive)
+     * @param maximum
+     *            the maximum number of remaining bytes (inclusive)
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the buffer is <code>null</code> or the number of remaining bytes is out of range
+     */
+    public void hasLengthBetween(final int minimum, final int maximum, final Supplier<String> message) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && (value.remaining() < minimum || value.remaining() > maximum)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and contains only ASCII characters.
+     *
+     * @throws AssertionFailedException
+     *             if the buffer is <code>null</code> or contains a non-ASCII byte
+     */
+    public void isAscii() {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null) {
+            int index = Utf8.indexOfNonAscii(value);
+            if (index >= 0) {
+                throwException("The buffer contains a non-ASCII byte at index %d", index);
+            }
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and contains only ASCII characters.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the buffer is <code>null</code> or contains a non-ASCII byte
+     */
+    public void isAscii(final String explanation, final Object... args) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Utf8.indexOfNonAscii(value) >= 0) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and contains only ASCII characters.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the buffer is <code>null</code> or contains a non-ASCII byte
+     */
+    public void isAscii(final Supplier<String> message) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Utf8.indexOfNonAscii(value) >= 0) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and contains valid UTF-8.
+     *
+     * @throws AssertionFailedException
+     *             if the buffer is <code>null</code> or contains an invalid UTF-8 sequence
+     */
+    public void isValidUtf8() {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null) {
+            int index = Utf8.indexOfInvalidSequence(value);
+            if (index >= 0) {
+                throwException("The buffer contains an invalid UTF-8 sequence at index %d", index);
+            }
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and contains valid UTF-8.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the buffer is <code>null</code> or contains an invalid UTF-8 sequence
+     */
+    public void isValidUtf8(final String explanation, final Object... args) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Utf8.indexOfInvalidSequence(value) >= 0) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the buffer is not <code>null</code> and contains valid UTF-8.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the buffer is <code>null</code> or contains an invalid UTF-8 sequence
+     */
+    public void isValidUtf8(final Supplier<String> message) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Utf8.indexOfInvalidSequence(value) >= 0) {
+            throwException(message);
+        }
+    }
+
+    private boolean isBlank() {
+        if (!value.hasRemaining()) {
+            return true;
+        }
+        return FULL_CHECKS && Utf8.isBlank(value);
+    }
+}
@@ -0,0 +1,252 @@
+package edu.hm.hafner.util;
+
+import static edu.hm.hafner.util.Ensure.CHEAP_CHECKS;
+import static edu.hm.hafner.util.Ensure.FULL_CHECKS;
+import static edu.hm.hafner.util.Ensure.throwException;
+
+import java.util.Formatter;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+
+/**
+ * Assertions for character sequences, e.g. {@link StringBuilder} or {@link java.nio.CharBuffer}. The characters are
+ * validated in place, i.e. the sequence is not copied into a {@link String}. Checks that scan the characters are
+ * {@link ContractLevel#FULL full} checks.
+ *
+ * @author Ulli Hafner
+ */
+public class CharSequenceCondition extends ObjectCondition {
+    @CheckForNull
+    private final CharSequence value;
+
+    /**
+     * Creates a new instance of {@link CharSequenceCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    public CharSequenceCondition(@CheckForNull final CharSequence value) {
+        super(value);
+
+        this.value = value;
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and contains at least one character.
+     *
+     * @throws AssertionFailedException
+     *             if the character sequence is empty (or <code>null</code>)
+     */
+    public void isNotEmpty() {
+        if (CHEAP_CHECKS && (value == null || value.length() == 0)) {
+            throwException("The character sequence is empty or NULL");
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and contains at least one character.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the character sequence is empty (or <code>null</code>)
+     */
+    public void isNotEmpty(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && (value == null || value.length() == 0)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and contains at least one character.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the character sequence is empty (or <code>null</code>)
+     */
+    public void isNotEmpty(final Supplier<String> message) {
+        if (CHEAP_CHECKS && (value == null || value.length() == 0)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and contains at least one non-whitespace character.
+     *
+     * @throws AssertionFailedException
+     *             if the character sequence is blank (or <code>null</code>)
+     */
+    public void isNotBlank() {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && isBlank()) {
+            throwException("The character sequence is blank");
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and contains at least one non-whitespace character.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the character sequence is blank (or <code>null</code>)
+     */
+    public void isNotBlank(final String explanation, final Object... args) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && isBlank()) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and contains at least one non-whitespace character.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the character sequence is blank (or <code>null</code>)
+     */
+    public void isNotBlank(final Supplier<String> message) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && isBlank()) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and has a length within the specified range.
+     *
+     * @param minimum
+     *            the minimum length (inclusive)
+     * @param maximum
+     *            the maximum length (inclusive)
+     * @throws AssertionFailedException
+     *             if the character sequence is <code>null</code> or the length is out of range
+     */
+    public void hasLengthBetween(final int minimum, final int maximum) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && (value.length() < minimum || value.length() > maximum)) {
+            throwException("The character sequence length is not between %d and %d: %d",
+                    minimum, maximum, value.length());
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and has a length within the specified range.
+     *
+     * @param minimum
+     *            the minimum length (inclusive)
+     * @param maximum
+     *            the maximum length (inclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the character sequence is <code>null</code> or the length is out of range
+     */
+    public void hasLengthBetween(final int minimum, final int maximum, final String explanation, final Object... args) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && (value.length() < minimum || value.length() > maximum)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and has a length within the specified range.
+     *
+     * @param minimum
+     *            the minimum length (inclusive)
+     * @param maximum
+     *            the maximum length (inclusive)
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the character sequence is <code>null</code> or the length is out of range
+     */
+    public void hasLengthBetween(final int minimum, final int maximum, final Supplier<String> message) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && (value.length() < minimum || value.length() > maximum)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and contains only ASCII characters.
+     *
+     * @throws AssertionFailedException
+     *             if the character sequence is <code>null</code> or contains a non-ASCII character
+     */
+    public void isAscii() {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null) {
+            int index = Characters.indexOfNonAscii(value);
+            if (index >= 0) {
+                throwException("The character sequence contains a non-ASCII character at index %d", index);
+            }
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and contains only ASCII characters.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the character sequence is <code>null</code> or contains a non-ASCII character
+     */
+    public void isAscii(final String explanation, final Object... args) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Characters.indexOfNonAscii(value) >= 0) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the character sequence is not <code>null</code> and contains only ASCII characters.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the character sequence is <code>null</code> or contains a non-ASCII character
+     */
+    public void isAscii(final Supplier<String> message) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Characters.indexOfNonAscii(value) >= 0) {
+            throwException(message);
+        }
+    }
+
+    private boolean isBlank() {
+        if (value.length() == 0) {
+            return true;
+        }
+        return FULL_CHECKS && Characters.isBlank(value);
+    }
+}
@@ -0,0 +1,123 @@
+package edu.hm.hafner.util;
+
+/**
+ * Allocation free character scans used by the string and character sequence conditions. The scans exit at the first
+ * matching character.
+ *
+ * @author Ulli Hafner
+ */
+final class Characters {
+    /** Characters below this limit are ASCII characters. */
+    static final int ASCII_LIMIT = 128;
+    /**
+     * Bit mask of the ASCII whitespace characters: bit <code>c</code> is set if character <code>c</code> is a
+     * whitespace. All these characters are below 64.
+     */
+    private static final long ASCII_WHITESPACE = 1L << '\t' | 1L << '\n' | 1L << 0x0B | 1L << '\f' | 1L << '\r'
+            | 1L << 0x1C | 1L << 0x1D | 1L << 0x1E | 1L << 0x1F | 1L << ' ';
+
+    /**
+     * Returns whether the specified character is a whitespace according to {@link Character#isWhitespace(char)}.
+     * ASCII characters are looked up in a bit mask, only other characters are delegated to {@link Character}.
+     *
+     * @param character
+     *            the character to check
+     * @return <code>true</code> if the character is a whitespace, <code>false</code> otherwise
+     */
+    static boolean isWhitespace(final char character) {
+        if (character < Long.SIZE) {
+            return (ASCII_WHITESPACE >>> character & 1) != 0;
+        }
+        return character >= ASCII_LIMIT && Character.isWhitespace(character);
+    }
+
+    /**
+     * Returns the index of the first character that is not an ASCII character.
+     *
+     * @param string
+     *            the string to scan
+     * @return the index of the character, or -1 if all characters are ASCII characters
+     */
+    static int indexOfNonAscii(final String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) >= ASCII_LIMIT) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first character that is not one of the ASCII digits <code>0-9</code>. An empty string
+     * contains no digits, so 0 is returned in this case.
+     *
+     * @param string
+     *            the string to scan
+     * @return the index of the character, or -1 if the string consists of digits only
+     */
+    static int indexOfNonDigit(final String string) {
+        if (string.length() == 0) {
+            return 0;
+        }
+        for (int i = 0; i < string.length(); i++) {
+            char character = string.charAt(i);
+            if (character < '0' || character > '9') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first {@link Character#isISOControl(char) control character}.
+     *
+     * @param string
+     *            the string to scan
+     * @return the index of the character, or -1 if the string contains no control characters
+     */
+    static int indexOfControlCharacter(final String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (Character.isISOControl(string.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether the specified character sequence is empty or contains {@link #isWhitespace(char) whitespace}
+     * characters only.
+     *
+     * @param sequence
+     *            the character sequence to scan
+     * @return <code>true</code> if the sequence is blank, <code>false</code> otherwise
+     */
+    static boolean isBlank(final CharSequence sequence) {
+        for (int i = 0; i < sequence.length(); i++) {
+            if (!isWhitespace(sequence.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the first character that is not an ASCII character.
+     *
+     * @param sequence
+     *            the character sequence to scan
+     * @return the index of the character, or -1 if all characters are ASCII characters
+     */
+    static int indexOfNonAscii(final CharSequence sequence) {
+        for (int i = 0; i < sequence.length(); i++) {
+            if (sequence.charAt(i) >= ASCII_LIMIT) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Characters() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,40 @@
+package edu.hm.hafner.util;
+
+import java.util.Locale;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Defines which contract checks of {@link Ensure} are evaluated. The level is read once at startup from the system
+ * property {@value Ensure#CONTRACT_LEVEL_PROPERTY}, e.g. <code>-Dedu.hm.hafner.util.Ensure.level=CHEAP</code>.
+ *
+ * @author Ulli Hafner
+ */
+public enum ContractLevel {
+    /** No check is evaluated. */
+    OFF,
+    /** Only checks that run in constant time are evaluated, e.g. <code>null</code> or emptiness checks. */
+    CHEAP,
+    /** All checks are evaluated, including checks that visit each element of an array, iterable, or string. */
+    FULL;
+
+    /**
+     * Returns the contract level with the specified name. The name is case insensitive. If the name is
+     * <code>null</code> or does not denote a contract level, then {@link #FULL} is returned.
+     *
+     * @param name
+     *            the name of the contract level
+     * @return the contract level
+     */
+    public static ContractLevel parse(@CheckForNull final String name) {
+        if (name != null) {
+            String normalized = name.trim().toUpperCase(Locale.ENGLISH);
+            for (ContractLevel level : values()) {
+                if (level.name().equals(normalized)) {
+                    return level;
+                }
+            }
+        }
+        return FULL;
+    }
+}
@@ -0,0 +1,369 @@
+package edu.hm.hafner.util;
+
+import static edu.hm.hafner.util.Ensure.CHEAP_CHECKS;
+import static edu.hm.hafner.util.Ensure.FULL_CHECKS;
+import static edu.hm.hafner.util.Ensure.throwException;
+
+import java.util.Formatter;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+
+/**
+ * Assertions for <code>double</code> arrays. The elements are checked in place, i.e. the array is neither copied nor
+ * are the elements boxed. Checks that verify each element are {@link ContractLevel#FULL full} checks. These checks
+ * process the array in chunks with loops that the JIT compiler can vectorize: each chunk is reduced to its minimum
+ * and maximum (or to a single flag) and only a chunk that contains a violation is scanned again to find the index of
+ * the offending element.
+ *
+ * @author Ulli Hafner
+ */
+public class DoubleArrayCondition {
+    /** Number of elements that are reduced before the result is checked. */
+    private static final int CHUNK_SIZE = 4096;
+
+    @CheckForNull
+    private final double[] value;
+
+    /**
+     * Creates a new instance of {@link DoubleArrayCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI2")
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public DoubleArrayCondition(@CheckForNull final double[] value) {
+        this.value = value;
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and not empty.
+     *
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or empty
+     */
+    public void isNotEmpty() {
+        if (CHEAP_CHECKS && (value == null || value.length == 0)) {
+            throwException("Array is empty or NULL");
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and not empty.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or empty
+     */
+    public void isNotEmpty(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && (value == null || value.length == 0)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and not empty.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or empty
+     */
+    public void isNotEmpty(final Supplier<String> message) {
+        if (CHEAP_CHECKS && (value == null || value.length == 0)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that all elements are in the specified range.
+     *
+     * @param minimum
+     *            the minimum value (inclusive)
+     * @param maximum
+     *            the maximum value (inclusive)
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or an element is not in the specified range
+     */
+    public void hasAllInRange(final double minimum, final double maximum) {
+        if (CHEAP_CHECKS) {
+            if (value == null) {
+                throwException("Array is NULL");
+            }
+            else if (FULL_CHECKS) {
+                int index = indexOfValueNotInRange(value, minimum, maximum);
+                if (index >= 0) {
+                    throwException("Array element %d is not in range [%s, %s]: %s",
+                            index, minimum, maximum, value[index]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that all elements are in the specified range.
+     *
+     * @param minimum
+     *            the minimum value (inclusive)
+     * @param maximum
+     *            the maximum value (inclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or an element is not in the specified range
+     */
+    public void hasAllInRange(final double minimum, final double maximum, final String explanation,
+            final Object... args) {
+        if (CHEAP_CHECKS && (value == null || FULL_CHECKS && indexOfValueNotInRange(value, minimum, maximum) >= 0)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that all elements are in the specified range.
+     *
+     * @param minimum
+     *            the minimum value (inclusive)
+     * @param maximum
+     *            the maximum value (inclusive)
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or an element is not in the specified range
+     */
+    public void hasAllInRange(final double minimum, final double maximum, final Supplier<String> message) {
+        if (CHEAP_CHECKS && (value == null || FULL_CHECKS && indexOfValueNotInRange(value, minimum, maximum) >= 0)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that no element is negative.
+     *
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or an element is negative
+     */
+    public void hasAllNonNegative() {
+        if (CHEAP_CHECKS) {
+            if (value == null) {
+                throwException("Array is NULL");
+            }
+            else if (FULL_CHECKS) {
+                int index = indexOfValueNotInRange(value, 0, Double.POSITIVE_INFINITY);
+                if (index >= 0) {
+                    throwException("Array element %d is negative: %s", index, value[index]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that no element is negative.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or an element is negative
+     */
+    public void hasAllNonNegative(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && (value == null
+                || FULL_CHECKS && indexOfValueNotInRange(value, 0, Double.POSITIVE_INFINITY) >= 0)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that no element is negative.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or an element is negative
+     */
+    public void hasAllNonNegative(final Supplier<String> message) {
+        if (CHEAP_CHECKS && (value == null
+                || FULL_CHECKS && indexOfValueNotInRange(value, 0, Double.POSITIVE_INFINITY) >= 0)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that all elements are finite, i.e. neither infinite nor NaN.
+     *
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or an element is infinite or NaN
+     */
+    public void hasAllFinite() {
+        if (CHEAP_CHECKS) {
+            if (value == null) {
+                throwException("Array is NULL");
+            }
+            else if (FULL_CHECKS) {
+                int index = indexOfValueNotInRange(value, -Double.MAX_VALUE, Double.MAX_VALUE);
+                if (index >= 0) {
+                    throwException("Array element %d is not finite: %s", index, value[index]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that all elements are finite, i.e. neither infinite nor NaN.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or an element is infinite or NaN
+     */
+    public void hasAllFinite(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && (value == null
+                || FULL_CHECKS && indexOfValueNotInRange(value, -Double.MAX_VALUE, Double.MAX_VALUE) >= 0)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that all elements are finite, i.e. neither infinite nor NaN.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or an element is infinite or NaN
+     */
+    public void hasAllFinite(final Supplier<String> message) {
+        if (CHEAP_CHECKS && (value == null
+                || FULL_CHECKS && indexOfValueNotInRange(value, -Double.MAX_VALUE, Double.MAX_VALUE) >= 0)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that the elements are sorted in ascending order.
+     *
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or not sorted (NaN values are never sorted)
+     */
+    public void isSorted() {
+        if (CHEAP_CHECKS) {
+            if (value == null) {
+                throwException("Array is NULL");
+            }
+            else if (FULL_CHECKS) {
+                int index = indexOfUnsortedElement(value);
+                if (index >= 0) {
+                    throwException("Array is not sorted at index %d: %s > %s", index, value[index], value[index + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that the elements are sorted in ascending order.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or not sorted (NaN values are never sorted)
+     */
+    public void isSorted(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && (value == null || FULL_CHECKS && indexOfUnsortedElement(value) >= 0)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the array is not <code>null</code> and that the elements are sorted in ascending order.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the array is <code>null</code> or not sorted (NaN values are never sorted)
+     */
+    public void isSorted(final Supplier<String> message) {
+        if (CHEAP_CHECKS && (value == null || FULL_CHECKS && indexOfUnsortedElement(value) >= 0)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Returns the index of the first element that is not in the specified range.
+     *
+     * @param values
+     *            the values to check
+     * @param minimum
+     *            the minimum value (inclusive)
+     * @param maximum
+     *            the maximum value (inclusive)
+     * @return the index of the element, or -1 if all elements are in range
+     */
+    private static int indexOfValueNotInRange(final double[] values, final double minimum, final double maximum) {
+        int end;
+        for (int start = 0; start < values.length; start = end) {
+            end = start + Math.min(CHUNK_SIZE, values.length - start);
+            double min = minimum;
+            double max = maximum;
+            for (int i = start; i < end; i++) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            if (!(min >= minimum && max <= maximum)) {
+                for (int i = start; i < end; i++) {
+                    if (!(values[i] >= minimum && values[i] <= maximum)) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first element that is greater than its successor.
+     *
+     * @param values
+     *            the values to check
+     * @return the index of the element, or -1 if the array is sorted
+     */
+    private static int indexOfUnsortedElement(final double[] values) {
+        int last = values.length - 1;
+        int end;
+        for (int start = 0; start < last; start = end) {
+            end = start + Math.min(CHUNK_SIZE, last - start);
+            boolean isUnsorted = false;
+            for (int i = start; i < end; i++) {
+                isUnsorted |= !(values[i] <= values[i + 1]);
+            }
+            if (isUnsorted) {
+                for (int i = start; i < end; i++) {
+                    if (!(values[i] <= values[i + 1])) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+}
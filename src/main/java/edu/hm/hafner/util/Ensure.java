@@ -1,11 +1,17 @@
 package edu.hm.hafner.util;
 
+import static edu.hm.hafner.util.ObjectCondition.ABSENT;
+import static edu.hm.hafner.util.ObjectCondition.NO_VALUES;
+
+import java.nio.ByteBuffer;
 import java.util.Formatter;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Set;
 
 import javax.annotation.CheckForNull;
 
-import com.google.common.collect.Lists;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableSet;
 
 /**
  * Provides several helper methods to validate method arguments and class
@@ -21,6 +27,11 @@ import com.google.common.collect.Lists;
  *   Ensure.that(collection.contains(element)).isTrue();
  * </code>
  * </li>
+ * <li>Numeric assertions, e.g.,
+ * <code>
+ *   Ensure.that(index).isInRange(0, size - 1);
+ * </code>
+ * </li>
  * <li>String assertions, e.g.,
  * <code>
  *   Ensure.that(string).isNotEmpty();
@@ -36,17 +47,62 @@ import com.google.common.collect.Lists;
  *   Ensure.that(array).isNotEmpty();
  * </code>
  * </li>
+ * <li>Primitive array assertions, e.g.,
+ * <code>
+ *   Ensure.that(samples).hasAllFinite();
+ * </code>
+ * </li>
  * <li>Iterable assertions, e.g.,
  * <code>
  *   Ensure.that(collection).isNotNull();
  * </code>
  * </li>
  * </ul>
+ * <p>
+ * The checks are evaluated according to the {@link ContractLevel} that is read once from the system property
+ * {@value #CONTRACT_LEVEL_PROPERTY}. Checks that verify each element of an array or iterable and the character scans
+ * of {@link StringCondition} (e.g., {@link StringCondition#isNotBlank()} or {@link StringCondition#matches(String)})
+ * are {@link ContractLevel#FULL full} checks; at level {@link ContractLevel#CHEAP} these checks verify only that the
+ * value is not <code>null</code> (and not empty if the check requires elements or characters). All other checks are
+ * {@link ContractLevel#CHEAP cheap} checks. At level {@link ContractLevel#OFF} no check is evaluated, only
+ * {@link #thatStatementIsNeverReached()} and {@link ExceptionCondition#isNeverThrown(String, Object...)} still throw
+ * an exception since these methods mark unreachable code.
+ * </p>
+ * <p>
+ * Each check that accepts a formatted explanation also accepts a {@link Supplier} of the message. The supplier is
+ * invoked only if the check fails, so message arguments that are expensive to compute cost nothing on success.
+ * </p>
+ * <p>
+ * Failed checks can be counted per condition and call site in the {@link AssertionFailureMetrics}.
+ * </p>
  *
  * @see <a href="http://en.wikipedia.org/wiki/Design_by_contract"> Design by Contract (Wikipedia)</a>
  * @author Ulli Hafner
  */
 public final class Ensure {
+    /** Name of the system property that defines the {@link ContractLevel} of all checks. */
+    public static final String CONTRACT_LEVEL_PROPERTY = "edu.hm.hafner.util.Ensure.level";
+
+    private static final ContractLevel CONTRACT_LEVEL
+            = ContractLevel.parse(System.getProperty(CONTRACT_LEVEL_PROPERTY));
+    /** Determines whether cheap checks are evaluated. Since it is a constant the JIT removes disabled checks. */
+    static final boolean CHEAP_CHECKS = CONTRACT_LEVEL.compareTo(ContractLevel.CHEAP) >= 0;
+    /** Determines whether full checks are evaluated. Since it is a constant the JIT removes disabled checks. */
+    static final boolean FULL_CHECKS = CONTRACT_LEVEL.compareTo(ContractLevel.FULL) >= 0;
+
+    /** Empty message arguments, shared to keep the checks without message arguments allocation free. */
+    static final Object[] NO_ARGS = new Object[0];
+
+    /** The classes besides the conditions whose stack frames belong to a check rather than to its caller. */
+    private static final Set<String> CHECKING_CLASSES = ImmutableSet.of(Ensure.class.getName(),
+            Requirements.class.getName(), AssertionFailedException.class.getName(), ValidationScope.class.getName(),
+            ValidationCache.class.getName(), NullHostileTypes.class.getName(), Singleton.class.getName(),
+            SingletonCollector.class.getName(), PropertyKey.class.getName(), PropertyChangeAware.class.getName(),
+            PropertyChangeDispatcher.class.getName());
+
+    private static final BooleanCondition TRUE = new BooleanCondition(true);
+    private static final BooleanCondition FALSE = new BooleanCondition(false);
+
     /**
      * Returns a boolean condition.
      *
@@ -55,7 +111,98 @@ public final class Ensure {
      * @return a boolean condition
      */
     public static BooleanCondition that(final boolean value) {
-        return new BooleanCondition(value);
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * Returns an int condition.
+     *
+     * @param value
+     *            the value to check
+     * @return an int condition
+     */
+    public static IntCondition that(final int value) {
+        return new IntCondition(value);
+    }
+
+    /**
+     * Returns a long condition.
+     *
+     * @param value
+     *            the value to check
+     * @return a long condition
+     */
+    public static LongCondition that(final long value) {
+        return new LongCondition(value);
+    }
+
+    /**
+     * Returns a double condition.
+     *
+     * @param value
+     *            the value to check
+     * @return a double condition
+     */
+    public static DoubleCondition that(final double value) {
+        return new DoubleCondition(value);
+    }
+
+    /**
+     * Returns an object condition.
+     *
+     * @param value
+     *            the value to check
+     * @return an object condition
+     */
+    public static ObjectCondition that(@CheckForNull final Object value) {
+        return new ObjectCondition(value, ABSENT, ABSENT, ABSENT, NO_VALUES);
+    }
+
+    /**
+     * Returns an object condition.
+     *
+     * @param value
+     *            the value to check
+     * @param second
+     *            the second value to check
+     * @return an object condition
+     */
+    public static ObjectCondition that(@CheckForNull final Object value, @CheckForNull final Object second) {
+        return new ObjectCondition(value, second, ABSENT, ABSENT, NO_VALUES);
+    }
+
+    /**
+     * Returns an object condition.
+     *
+     * @param value
+     *            the value to check
+     * @param second
+     *            the second value to check
+     * @param third
+     *            the third value to check
+     * @return an object condition
+     */
+    public static ObjectCondition that(@CheckForNull final Object value, @CheckForNull final Object second,
+            @CheckForNull final Object third) {
+        return new ObjectCondition(value, second, third, ABSENT, NO_VALUES);
+    }
+
+    /**
+     * Returns an object condition.
+     *
+     * @param value
+     *            the value to check
+     * @param second
+     *            the second value to check
+     * @param third
+     *            the third value to check
+     * @param fourth
+     *            the fourth value to check
+     * @return an object condition
+     */
+    public static ObjectCondition that(@CheckForNull final Object value, @CheckForNull final Object second,
+            @CheckForNull final Object third, @CheckForNull final Object fourth) {
+        return new ObjectCondition(value, second, third, fourth, NO_VALUES);
     }
 
     /**
@@ -82,6 +229,19 @@ public final class Ensure {
         return new IterableCondition(value);
     }
 
+    /**
+     * Returns an iterator condition.
+     *
+     * @param value
+     *            the value to check
+     * @return an iterator condition
+     * @param <T>
+     *            type of the elements
+     */
+    public static <T> IteratorCondition<T> that(@CheckForNull final Iterator<T> value) {
+        return new IteratorCondition<T>(value);
+    }
+
     /**
      * Returns an array condition.
      *
@@ -93,6 +253,50 @@ public final class Ensure {
         return new ArrayCondition(value);
     }
 
+    /**
+     * Returns an int array condition.
+     *
+     * @param value
+     *            the value to check
+     * @return an int array condition
+     */
+    public static IntArrayCondition that(@CheckForNull final int[] value) {
+        return new IntArrayCondition(value);
+    }
+
+    /**
+     * Returns a long array condition.
+     *
+     * @param value
+     *            the value to check
+     * @return a long array condition
+     */
+    public static LongArrayCondition that(@CheckForNull final long[] value) {
+        return new LongArrayCondition(value);
+    }
+
+    /**
+     * Returns a double array condition.
+     *
+     * @param value
+     *            the value to check
+     * @return a double array condition
+     */
+    public static DoubleArrayCondition that(@CheckForNull final double[] value) {
+        return new DoubleArrayCondition(value);
+    }
+
+    /**
+     * Returns a byte array condition.
+     *
+     * @param value
+     *            the value to check
+     * @return a byte array condition
+     */
+    public static ByteArrayCondition that(@CheckForNull final byte[] value) {
+        return new ByteArrayCondition(value);
+    }
+
     /**
      * Returns a string condition.
      *
@@ -104,6 +308,28 @@ public final class Ensure {
         return new StringCondition(value);
     }
 
+    /**
+     * Returns a character sequence condition.
+     *
+     * @param value
+     *            the value to check
+     * @return a character sequence condition
+     */
+    public static CharSequenceCondition that(@CheckForNull final CharSequence value) {
+        return new CharSequenceCondition(value);
+    }
+
+    /**
+     * Returns a byte buffer condition.
+     *
+     * @param value
+     *            the value to check
+     * @return a byte buffer condition
+     */
+    public static ByteBufferCondition that(@CheckForNull final ByteBuffer value) {
+        return new ByteBufferCondition(value);
+    }
+
     /**
      * Returns an exception condition.
      *
@@ -115,6 +341,15 @@ public final class Ensure {
         return new ExceptionCondition(value);
     }
 
+    /**
+     * Returns the contract level that is used to evaluate the checks.
+     *
+     * @return the contract level
+     */
+    public static ContractLevel getContractLevel() {
+        return CONTRACT_LEVEL;
+    }
+
     /**
      * Always throws an {@link AssertionFailedException}.
      *
@@ -123,9 +358,8 @@ public final class Ensure {
      *            return type
      */
     public static <T> T thatStatementIsNeverReached() {
-        throwException("This statement should never be reached.");
-
-        return null;
+        AssertionFailureMetrics.recordFailure();
+        throw AssertionFailedException.withFixedMessage("This statement should never be reached.");
     }
 
     /**
@@ -143,14 +377,51 @@ public final class Ensure {
      *            return type
      */
     public static <T> T thatStatementIsNeverReached(final String explanation, final Object... args) {
-        throwException(explanation, args);
+        AssertionFailureMetrics.recordFailure();
+        throw new AssertionFailedException(String.format(explanation, args));
+    }
 
-        return null;
+    /**
+     * Always throws an {@link AssertionFailedException}.
+     *
+     * @param message
+     *            supplies the message explaining the assertion
+     * @return nothing since an {@link AssertionFailedException} is thrown
+     * @param <T>
+     *            return type
+     */
+    public static <T> T thatStatementIsNeverReached(final Supplier<String> message) {
+        AssertionFailureMetrics.recordFailure();
+        throw new AssertionFailedException(message.get());
+    }
+
+    /**
+     * Starts a validation scope for the current thread. Within the scope, failing checks do not throw an exception.
+     * Instead, all violations are recorded and thrown at once when the scope is closed:
+     * <code>
+     * <pre>
+     * try (ValidationScope scope = Ensure.validateAll()) {
+     *     Ensure.that(name).isNotBlank("Name is blank");
+     *     Ensure.that(items).isNotEmpty("No items");
+     * }
+     * </pre>
+     * </code>
+     * Note that a failing check returns normally within a scope, so statements that rely on a previous check (e.g.,
+     * dereferencing a value that has been checked to be not <code>null</code>) still fail with their own exception.
+     * {@link #thatStatementIsNeverReached()} and {@link ExceptionCondition#isNeverThrown(String, Object...)} always
+     * throw an exception, as do the argument checks of the other classes of this package (e.g. {@link Singleton}).
+     * Scopes may be nested.
+     *
+     * @return the validation scope, must be closed by the current thread
+     */
+    public static ValidationScope validateAll() {
+        return ValidationScope.open();
     }
 
     /**
      * Throws a {@link AssertionFailedException} with the specified detail
-     * message.
+     * message. If a {@link ValidationScope} is active then the violation is
+     * recorded in the scope instead.
      *
      * @param message
      *            a {@link Formatter formatted message} with the description of
@@ -161,508 +432,61 @@ public final class Ensure {
      *            the extra arguments are ignored. The number of arguments is
      *            variable and may be zero.
      * @exception AssertionFailedException
-     *                always thrown
-     */
-    private static void throwException(final String message, final Object... args) {
-
-        throw new AssertionFailedException(String.format(message, args));
-    }
-
-    private Ensure() {
-        // prevents instantiation
-    }
-
-    /**
-     * Assertions for iterables.
-     */
-    public static class IterableCondition extends ObjectCondition {
-        private final Iterable<?> value;
-
-        /**
-         * Creates a new instance of {@link IterableCondition}.
-         *
-         * @param value
-         *            value of the condition
-         */
-        public IterableCondition(@CheckForNull final Iterable<?> value) {
-            super(value);
-
-            this.value = value;
-        }
-
-        /**
-         * Ensures that the given iterable is not <code>null</code> and contains
-         * at least one element. Additionally, ensures that each element of the
-         * iterable is not <code>null</code>.
-         *
-         * @throws AssertionFailedException
-         *             if the iterable is empty (or <code>null</code>), or at least
-         *             one iterable element is <code>null</code>.
-         */
-        public void isNotEmpty() {
-            isNotEmpty("Iterable is empty or NULL");
-        }
-
-        /**
-         * Ensures that the given iterable is not <code>null</code> and contains
-         * at least one element. Additionally, ensures that each element of the
-         * iterable is not <code>null</code>.
-         *
-         * @param explanation
-         *            a {@link Formatter formatted message} explaining the
-         *            assertion
-         * @param args
-         *            Arguments referenced by the format specifiers in the
-         *            formatted explanation. If there are more arguments than format
-         *            specifiers, the extra arguments are ignored. The number of
-         *            arguments is variable and may be zero.
-         * @throws AssertionFailedException
-         *             if the iterable is empty (or <code>null</code>), or at
-         *             least one iterable element is <code>null</code>.
-         */
-        public void isNotEmpty(final String explanation, final Object... args) {
-            isNotNull(explanation);
-
-            if (value.iterator().hasNext()) {
-                for (Object object : value) {
-                    if (object == null) {
-                        throwException(explanation, args);
-                    }
-                }
-            }
-            else {
-                throwException(explanation, args);
-            }
-        }
-    }
-
-    /**
-     * Assertions for iterables.
-     */
-    public static class ArrayCondition extends ObjectCondition {
-        private final Object[] value;
-
-        /**
-         * Creates a new instance of {@link IterableCondition}.
-         *
-         * @param value
-         *            value of the condition
-         */
-        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
-        @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI2")
-        public ArrayCondition(@CheckForNull final Object[] value) {
-            super(value);
-
-            this.value = value;
-        }
-
-        /**
-         * Ensures that the given array is not <code>null</code> and contains
-         * at least one element. Additionally, ensures that each element of the
-         * array is not <code>null</code>.
-         *
-         * @throws AssertionFailedException
-         *             if the array is empty (or <code>null</code>), or at least
-         *             one array element is <code>null</code>.
-         */
-        public void isNotEmpty() {
-            isNotEmpty("Array is empty or NULL");
-        }
-
-        /**
-         * Ensures that the given array is not <code>null</code> and contains
-         * at least one element. Additionally, ensures that each element of the
-         * array is not <code>null</code>.
-         *
-         * @param explanation
-         *            a {@link Formatter formatted message} explaining the
-         *            assertion
-         * @param args
-         *            Arguments referenced by the format specifiers in the
-         *            formatted explanation. If there are more arguments than format
-         *            specifiers, the extra arguments are ignored. The number of
-         *            arguments is variable and may be zero.
-         * @throws AssertionFailedException
-         *             if the array is empty (or <code>null</code>), or at least
-         *             one array element is <code>null</code>.
-         */
-        public void isNotEmpty(final String explanation, final Object... args) {
-            isNotNull(explanation);
-
-            if (value.length == 0) {
-                throwException(explanation, args);
-            }
-            else {
-                for (Object object : value) {
-                    if (object == null) {
-                        throwException(explanation, args);
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * Assertions for strings.
+     *                thrown if no validation scope is active
      */
-    public static class StringCondition extends ObjectCondition {
-        private final String value;
-
-        /**
-         * Creates a new instance of {@link StringCondition}.
-         *
-         * @param value
-         *            value of the condition
-         */
-        public StringCondition(@CheckForNull final String value) {
-            super(value);
-
-            this.value = value;
-        }
-
-        /**
-         * Ensures that the given string is not <code>null</code> and contains
-         * at least one character.
-         *
-         * @throws AssertionFailedException
-         *             if the string is empty (or <code>null</code>)
-         */
-        public void isNotEmpty() {
-            isNotEmpty("The string is empty or NULL");
-        }
+    static void throwException(final String message, final Object... args) {
+        AssertionFailureMetrics.recordFailure();
 
-        /**
-         * Ensures that the given string is not <code>null</code> and contains
-         * at least one character.
-         *
-         * @param explanation
-         *            a {@link Formatter formatted message} explaining the
-         *            assertion
-         * @param args
-         *            Arguments referenced by the format specifiers in the
-         *            formatted explanation. If there are more arguments than format
-         *            specifiers, the extra arguments are ignored. The number of
-         *            arguments is variable and may be zero.
-         * @throws AssertionFailedException
-         *             if the string is empty (or <code>null</code>)
-         */
-        public void isNotEmpty(final String explanation, final Object... args) {
-            isNotNull(explanation);
-
-            if (value.length() == 0) {
-                throwException(explanation, args);
+        ValidationScope scope = ValidationScope.current();
+        if (scope == null) {
+            if (args != null && args.length == 0) {
+                throw AssertionFailedException.withFixedMessage(message);
             }
+            throw new AssertionFailedException(String.format(message, args));
         }
-
-        /**
-         * Ensures that the given string is not <code>null</code> and contains
-         * at least one non-whitespace character.
-         *
-         * @throws AssertionFailedException
-         *             if the string is empty (or <code>null</code>)
-         */
-        public void isNotBlank() {
-            isNotBlank("The string is blank");
-        }
-
-        /**
-         * Ensures that the given string is not <code>null</code> and contains
-         * at least one non-whitespace character.
-         *
-         * @param explanation
-         *            a {@link Formatter formatted message} explaining the
-         *            assertion
-         * @param args
-         *            Arguments referenced by the format specifiers in the
-         *            formatted explanation. If there are more arguments than format
-         *            specifiers, the extra arguments are ignored. The number of
-         *            arguments is variable and may be zero.
-         * @throws AssertionFailedException
-         *             if the string is empty (or <code>null</code>)
-         */
-        public void isNotBlank(final String explanation, final Object... args) {
-            isNotNull();
-
-            if (isBlank()) {
-                throwException(explanation, args);
-            }
-        }
-
-        private boolean isBlank() {
-            if (value.length() == 0) {
-                return true;
-            }
-            for (int i = 0; i < value.length(); i++) {
-                if (!Character.isWhitespace(value.charAt(i))) {
-                    return false;
-                }
-            }
-            return true;
-        }
+        scope.record(message, args);
     }
 
     /**
-     * Assertions for objects.
+     * Throws a {@link AssertionFailedException} with the detail message
+     * provided by the specified supplier. If a {@link ValidationScope} is
+     * active then the violation is recorded in the scope instead.
+     *
+     * @param message
+     *            supplies the description of the error
+     * @exception AssertionFailedException
+     *                thrown if no validation scope is active
      */
-    public static class ObjectCondition {
-        private final Object value;
-        private final Object[] additionalValues;
-
-        /**
-         * Creates a new instance of {@link ObjectCondition}.
-         *
-         * @param value
-         *            value of the condition
-         */
-        public ObjectCondition(@CheckForNull final Object value) {
-            this(value, new Object[0]);
-        }
-
-        /**
-         * Creates a new instance of {@link ObjectCondition}.
-         *
-         * @param value
-         *            value of the condition
-         * @param additionalValues
-         *            additional values of the condition
-         */
-        @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI2")
-        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
-        public ObjectCondition(@CheckForNull final Object value, final Object[] additionalValues) {
-            this.value = value;
-            this.additionalValues = additionalValues;
-        }
-
-        /**
-         * Ensures that the given object is not <code>null</code>.
-         *
-         * @throws AssertionFailedException
-         *             if the object is <code>null</code>
-         */
-        public void isNotNull() {
-            isNotNull("Object is NULL");
-        }
-
-        /**
-         * Ensures that the given object is not <code>null</code>.
-         *
-         * @param explanation
-         *            a {@link Formatter formatted message} explaining the
-         *            assertion
-         * @param args
-         *            Arguments referenced by the format specifiers in the
-         *            formatted explanation. If there are more arguments than format
-         *            specifiers, the extra arguments are ignored. The number of
-         *            arguments is variable and may be zero.
-         * @throws AssertionFailedException
-         *             if the object is <code>null</code>
-         */
-        public void isNotNull(final String explanation, final Object... args) {
-            if (value == null) {
-                throwException(explanation, args);
-            }
-            for (Object additionalValue : additionalValues) {
-                if (additionalValue == null) {
-                    throwException(explanation, args);
-                }
-            }
-        }
-
-        /**
-         * Ensures that the given object is <code>null</code>.
-         *
-         * @throws AssertionFailedException
-         *             if the object is not <code>null</code>
-         */
-        public void isNull() {
-            isNull("Object is not NULL");
-        }
-
-        /**
-         * Ensures that the given object is <code>null</code>.
-         *
-         * @param explanation
-         *            a {@link Formatter formatted message} explaining the
-         *            assertion
-         * @param args
-         *            Arguments referenced by the format specifiers in the
-         *            formatted explanation. If there are more arguments than format
-         *            specifiers, the extra arguments are ignored. The number of
-         *            arguments is variable and may be zero.
-         * @throws AssertionFailedException
-         *             if the object is not <code>null</code>
-         */
-        public void isNull(final String explanation, final Object... args) {
-            if (value != null) {
-                throwException(explanation, args);
-            }
-        }
-
-        /**
-         * Ensures that the given object is an instance of one of the specified types.
-         *
-         * @param type
-         *            the type to check the specified object for
-         * @param additionalTypes
-         *            the additional types to check the specified object for
-         * @throws AssertionFailedException
-         *             the specified object is not an instance of the given type (or
-         *             <code>null</code>)
-         */
-        public void isInstanceOf(final Class<?> type, final Class<?>... additionalTypes) {
-            isNotNull();
-
-            List<Class<?>> types = Lists.asList(type, additionalTypes);
-            for (Class<?> clazz : types) {
-                if (clazz.isInstance(value)) {
-                    return;
-                }
-            }
-            throwException("Object is of wrong type. Actual: %s. Expected one of: %s", value, types);
-        }
-
-        /**
-         * Ensures that the given object is an instance of the specified type.
-         *
-         * @param type
-         *            the type to check the specified object for
-         * @param explanation
-         *            a {@link Formatter formatted message} explaining the
-         *            assertion
-         * @param args
-         *            Arguments referenced by the format specifiers in the
-         *            formatted explanation. If there are more arguments than format
-         *            specifiers, the extra arguments are ignored. The number of
-         *            arguments is variable and may be zero.
-         * @throws AssertionFailedException
-         *             the specified object is not an instance of the given type (or
-         *             <code>null</code>)
-         */
-        public void isInstanceOf(final Class<?> type, final String explanation, final Object... args) {
-            isNotNull(explanation);
-
-            if (!type.isInstance(value)) {
-                throwException(explanation, args);
-            }
+    static void throwException(final Supplier<String> message) {
+        AssertionFailureMetrics.recordFailure();
 
+        ValidationScope scope = ValidationScope.current();
+        if (scope == null) {
+            throw new AssertionFailedException(message.get());
         }
+        scope.record(message, NO_ARGS);
     }
 
     /**
-     * Assertions for booleans.
+     * Returns whether the specified class implements contract checks, i.e. whether its stack frames belong to a check
+     * rather than to the caller of a check. These are {@link Ensure}, the conditions of this package, and the classes
+     * of this package that check the arguments of their callers (e.g. {@link Singleton}), each with its nested
+     * classes.
+     *
+     * @param className
+     *            the fully qualified name of the class
+     * @return <code>true</code> if the class implements contract checks, <code>false</code> otherwise
      */
-    public static class BooleanCondition {
-        /** The value of the condition. */
-        private final boolean value;
-
-        /**
-         * Creates a new instance of {@link BooleanCondition}.
-         *
-         * @param value
-         *            value of the condition
-         */
-        public BooleanCondition(final boolean value) {
-            this.value = value;
-        }
-
-        /**
-         * Ensures that the given condition is <code>false</code>.
-         *
-         * @param explanation
-         *            a {@link Formatter formatted message} explaining the
-         *            assertion
-         * @param args
-         *            Arguments referenced by the format specifiers in the
-         *            formatted explanation. If there are more arguments than
-         *            format specifiers, the extra arguments are ignored. The
-         *            number of arguments is variable and may be zero.
-         * @throws AssertionFailedException
-         *             if the condition is <code>true</code>
-         */
-        public void isFalse(final String explanation, final Object... args) {
-            if (value) {
-                throwException(explanation, args);
-            }
-        }
-
-        /**
-         * Ensures that the given condition is <code>false</code>.
-         *
-         * @throws AssertionFailedException
-         *             if the condition is <code>true</code>
-         */
-        public void isFalse() {
-            isFalse("Value is not FALSE");
-        }
-
-        /**
-         * Ensures that the given condition is <code>true</code>.
-         *
-         * @param explanation
-         *            a {@link Formatter formatted message} explaining the
-         *            assertion
-         * @param args
-         *            Arguments referenced by the format specifiers in the
-         *            formatted explanation. If there are more arguments than format
-         *            specifiers, the extra arguments are ignored. The number of
-         *            arguments is variable and may be zero.
-         * @throws AssertionFailedException
-         *             if the condition is <code>false</code>
-         */
-        public void isTrue(final String explanation, final Object... args) {
-            if (!value) {
-                throwException(explanation, args);
-            }
-        }
-
-        /**
-         * Ensures that the given condition is <code>true</code>.
-         *
-         * @throws AssertionFailedException
-         *             if the condition is <code>false</code>
-         */
-        public void isTrue() {
-            isTrue("Value is not TRUE");
+    static boolean isContractClass(final String className) {
+        String packagePrefix = Ensure.class.getPackage().getName() + '.';
+        if (!className.startsWith(packagePrefix) || className.indexOf('.', packagePrefix.length()) >= 0) {
+            return false;
         }
+        String topLevelClassName = className.replaceFirst("\\$.*", "");
+        return topLevelClassName.endsWith("Condition") || CHECKING_CLASSES.contains(topLevelClassName);
     }
 
-    /**
-     * Assertions for exceptions.
-     */
-    public static class ExceptionCondition {
-        /** The value of the condition. */
-        private final Throwable value;
-
-        /**
-         * Creates a new instance of {@link BooleanCondition}.
-         *
-         * @param value
-         *            value of the condition
-         */
-        public ExceptionCondition(@CheckForNull final Throwable value) {
-            this.value = value;
-        }
-
-        /**
-         * Ensures that the exception is never thrown. I.e., this method will
-         * always throw an {@link AssertionFailedException}.
-         *
-         * @param explanation
-         *            a {@link Formatter formatted message} explaining the
-         *            assertion
-         * @param args
-         *            Arguments referenced by the format specifiers in the
-         *            formatted explanation. If there are more arguments than
-         *            format specifiers, the extra arguments are ignored. The
-         *            number of arguments is variable and may be zero.
-         * @throws AssertionFailedException
-         *             always thrown
-         * @return nothing since an {@link AssertionFailedException} is thrown
-         * @param <T>
-         *            return type
-         */
-        public <T> T isNeverThrown(final String explanation, final Object... args) {
-            throw new AssertionFailedException(String.format(explanation, args), value);
-        }
+    private Ensure() {
+        // prevents instantiation
     }
 }
@@ -0,0 +1,68 @@
+package edu.hm.hafner.util;
+
+import java.util.Formatter;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+
+/**
+ * Assertions for exceptions.
+ *
+ * @author Ulli Hafner
+ */
+public class ExceptionCondition {
+    /** The value of the condition. */
+    private final Throwable value;
+
+    /**
+     * Creates a new instance of {@link BooleanCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    public ExceptionCondition(@CheckForNull final Throwable value) {
+        this.value = value;
+    }
+
+    /**
+     * Ensures that the exception is never thrown. I.e., this method will
+     * always throw an {@link AssertionFailedException}.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than
+     *            format specifiers, the extra arguments are ignored. The
+     *            number of arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             always thrown
+     * @return nothing since an {@link AssertionFailedException} is thrown
+     * @param <T>
+     *            return type
+     */
+    public <T> T isNeverThrown(final String explanation, final Object... args) {
+        AssertionFailureMetrics.recordFailure();
+        throw new AssertionFailedException(String.format(explanation, args), value);
+    }
+
+    /**
+     * Ensures that the exception is never thrown. I.e., this method will
+     * always throw an {@link AssertionFailedException}.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             always thrown
+     * @return nothing since an {@link AssertionFailedException} is thrown
+     * @param <T>
+     *            return type
+     */
+    public <T> T isNeverThrown(final Supplier<String> message) {
+        AssertionFailureMetrics.recordFailure();
+        throw new AssertionFailedException(message.get(), value);
+    }
+}
@@ -0,0 +1,202 @@
+package edu.hm.hafner.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ErrorManager;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.base.Ticker;
+
+/**
+ * Logs contract assertion failures asynchronously. Failing threads only put the exception into a bounded queue, they
+ * never block: if the queue is full then the failure is dropped and counted. A daemon thread takes the failures from
+ * the queue and logs them with level {@link Level#WARNING}. Failures are deduplicated by call site: the first failure
+ * of a call site is logged with its stack trace, further failures of the same call site within the rate limit
+ * interval are suppressed and reported as a summary when the interval has expired. Exceptions of the log handlers are
+ * reported to an {@link ErrorManager}, they do not stop the logging thread.
+ *
+ * @author Ulli Hafner
+ */
+final class FailureLogger implements Runnable {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long DEFAULT_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Returns the logger that is used by {@link AssertionFailedException}. The logger is started on first use.
+     *
+     * @return the shared logger
+     */
+    static FailureLogger getInstance() {
+        return SharedLoggerHolder.INSTANCE;
+    }
+
+    private final Logger logger;
+    private final BlockingQueue<Throwable> queue;
+    private final long interval;
+    private final Ticker ticker;
+    private final AtomicLong droppedFailures = new AtomicLong();
+    private final ErrorManager errorManager = new ErrorManager();
+    /** The call sites that are within their rate limit interval. Accessed by the logging thread only. */
+    private final Map<String, CallSite> callSites = new HashMap<String, CallSite>();
+    private long nextFlush;
+
+    /**
+     * Creates a new instance of {@link FailureLogger}.
+     *
+     * @param logger
+     *            the logger to write to
+     * @param capacity
+     *            the maximum number of failures that wait to be logged
+     * @param interval
+     *            the rate limit interval of a call site in nanoseconds
+     * @param ticker
+     *            the time source
+     */
+    FailureLogger(final Logger logger, final int capacity, final long interval, final Ticker ticker) {
+        this.logger = logger;
+        this.queue = new ArrayBlockingQueue<Throwable>(capacity);
+        this.interval = interval;
+        this.ticker = ticker;
+
+        nextFlush = ticker.read() + interval;
+    }
+
+    /**
+     * Enqueues the specified failure. Returns immediately, even if the queue is full.
+     *
+     * @param failure
+     *            the failure to log
+     */
+    void log(final Throwable failure) {
+        if (!queue.offer(failure)) {
+            droppedFailures.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Throwable failure = queue.poll(interval, TimeUnit.NANOSECONDS);
+                if (failure != null) {
+                    process(failure);
+                }
+                if (ticker.read() - nextFlush >= 0) {
+                    flush();
+                }
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            catch (RuntimeException exception) {
+                errorManager.error("Can't log assertion failure", exception, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    /**
+     * Logs the specified failure, unless a failure of the same call site has been logged within the rate limit
+     * interval. If the interval of the call site has expired, then the suppressed failures are reported and a new
+     * interval is started.
+     *
+     * @param failure
+     *            the failure to log
+     */
+    void process(final Throwable failure) {
+        long now = ticker.read();
+        String key = getCallSite(failure);
+        CallSite callSite = callSites.get(key);
+        if (callSite != null && now - callSite.start >= interval) {
+            reportSuppressedFailures(key, callSite);
+            callSite = null;
+        }
+        if (callSite == null) {
+            callSites.put(key, new CallSite(now));
+            logger.log(Level.WARNING, "Assertion failed.", failure);
+        }
+        else {
+            callSite.suppressedFailures++;
+        }
+    }
+
+    /**
+     * Reports the dropped failures and the suppressed failures of all call sites whose rate limit interval has
+     * expired.
+     */
+    void flush() {
+        long now = ticker.read();
+        nextFlush = now + interval;
+
+        long dropped = droppedFailures.getAndSet(0);
+        if (dropped > 0) {
+            logger.log(Level.WARNING, "{0} assertion failures not logged since the logging queue was full", dropped);
+        }
+        for (Iterator<Map.Entry<String, CallSite>> iterator = callSites.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<String, CallSite> entry = iterator.next();
+            CallSite callSite = entry.getValue();
+            if (now - callSite.start >= interval) {
+                iterator.remove();
+                reportSuppressedFailures(entry.getKey(), callSite);
+            }
+        }
+    }
+
+    private void reportSuppressedFailures(final String key, final CallSite callSite) {
+        if (callSite.suppressedFailures > 0) {
+            logger.log(Level.WARNING, "{0} similar assertion failures suppressed at {1}",
+                    new Object[] {callSite.suppressedFailures, key});
+        }
+    }
+
+    /**
+     * Returns the call site of the specified failure, i.e. the first stack frame outside of the contract checks and
+     * the argument checks of this package. If the failure has no stack trace then the message is used instead.
+     *
+     * @param failure
+     *            the failure
+     * @return the call site
+     */
+    private String getCallSite(final Throwable failure) {
+        for (StackTraceElement element : failure.getStackTrace()) {
+            String className = element.getClassName();
+            if (!Ensure.isContractClass(className)) {
+                return element.toString();
+            }
+        }
+        return String.valueOf(failure.getMessage());
+    }
+
+    /**
+     * Rate limit state of a call site.
+     */
+    private static final class CallSite {
+        private final long start;
+        private int suppressedFailures;
+
+        CallSite(final long start) {
+            this.start = start;
+        }
+    }
+
+    /**
+     * Creates and starts the shared logger on first use.
+     */
+    private static final class SharedLoggerHolder {
+        static final FailureLogger INSTANCE = start();
+
+        private static FailureLogger start() {
+            FailureLogger failureLogger = new FailureLogger(Logger.getLogger(AssertionFailedException.class.getName()),
+                    DEFAULT_CAPACITY, DEFAULT_INTERVAL, Ticker.systemTicker());
+            Thread thread = new Thread(failureLogger, "AssertionFailureLogger");
+            thread.setDaemon(true);
+            thread.start();
+            return failureLogger;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Provides a lazily created {@link ForkJoinPool} that is shared by all parallel operations of this package. Java 7
+ * has no common pool, so this pool takes its role. Its worker threads are daemon threads.
+ *
+ * @author Ulli Hafner
+ */
+final class ForkJoinPools {
+    /**
+     * Returns the shared pool.
+     *
+     * @return the shared pool
+     */
+    static ForkJoinPool getSharedPool() {
+        return SharedPoolHolder.POOL;
+    }
+
+    private ForkJoinPools() {
+        // prevents instantiation
+    }
+
+    /**
+     * Creates the shared pool on first use.
+     */
+    private static final class SharedPoolHolder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+}
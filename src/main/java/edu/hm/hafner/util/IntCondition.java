@@ -0,0 +1,545 @@
+package edu.hm.hafner.util;
+
+import static edu.hm.hafner.util.Ensure.CHEAP_CHECKS;
+import static edu.hm.hafner.util.Ensure.NO_ARGS;
+import static edu.hm.hafner.util.Ensure.throwException;
+
+import java.util.Formatter;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+
+/**
+ * Assertions for <code>int</code> values. The value is stored as primitive, so checks that pass neither box the
+ * value nor allocate any memory. The value is boxed only to format the message of a failing check.
+ *
+ * @author Ulli Hafner
+ */
+public class IntCondition {
+    private final int value;
+
+    /**
+     * Creates a new instance of {@link IntCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    public IntCondition(final int value) {
+        this.value = value;
+    }
+
+    /**
+     * Ensures that the value is positive.
+     *
+     * @throws AssertionFailedException
+     *             if the value is not positive
+     */
+    public void isPositive() {
+        if (CHEAP_CHECKS && value <= 0) {
+            throwException("Value is not positive: %d", value);
+        }
+    }
+
+    /**
+     * Ensures that the value is positive.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @throws AssertionFailedException
+     *             if the value is not positive
+     */
+    public void isPositive(final String explanation) {
+        if (CHEAP_CHECKS && value <= 0) {
+            throwException(explanation, NO_ARGS);
+        }
+    }
+
+    /**
+     * Ensures that the value is positive.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param arg
+     *            the argument referenced by the format specifier in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the value is not positive
+     */
+    public void isPositive(final String explanation, @CheckForNull final Object arg) {
+        if (CHEAP_CHECKS && value <= 0) {
+            throwException(explanation, arg);
+        }
+    }
+
+    /**
+     * Ensures that the value is positive.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param firstArg
+     *            the first argument referenced by the format specifiers in the formatted explanation
+     * @param secondArg
+     *            the second argument referenced by the format specifiers in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the value is not positive
+     */
+    public void isPositive(final String explanation, @CheckForNull final Object firstArg,
+            @CheckForNull final Object secondArg) {
+        if (CHEAP_CHECKS && value <= 0) {
+            throwException(explanation, firstArg, secondArg);
+        }
+    }
+
+    /**
+     * Ensures that the value is positive.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the value is not positive
+     */
+    public void isPositive(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && value <= 0) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the value is positive.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the value is not positive
+     */
+    public void isPositive(final Supplier<String> message) {
+        if (CHEAP_CHECKS && value <= 0) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the value is not negative.
+     *
+     * @throws AssertionFailedException
+     *             if the value is negative
+     */
+    public void isNotNegative() {
+        if (CHEAP_CHECKS && value < 0) {
+            throwException("Value is negative: %d", value);
+        }
+    }
+
+    /**
+     * Ensures that the value is not negative.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @throws AssertionFailedException
+     *             if the value is negative
+     */
+    public void isNotNegative(final String explanation) {
+        if (CHEAP_CHECKS && value < 0) {
+            throwException(explanation, NO_ARGS);
+        }
+    }
+
+    /**
+     * Ensures that the value is not negative.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param arg
+     *            the argument referenced by the format specifier in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the value is negative
+     */
+    public void isNotNegative(final String explanation, @CheckForNull final Object arg) {
+        if (CHEAP_CHECKS && value < 0) {
+            throwException(explanation, arg);
+        }
+    }
+
+    /**
+     * Ensures that the value is not negative.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param firstArg
+     *            the first argument referenced by the format specifiers in the formatted explanation
+     * @param secondArg
+     *            the second argument referenced by the format specifiers in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the value is negative
+     */
+    public void isNotNegative(final String explanation, @CheckForNull final Object firstArg,
+            @CheckForNull final Object secondArg) {
+        if (CHEAP_CHECKS && value < 0) {
+            throwException(explanation, firstArg, secondArg);
+        }
+    }
+
+    /**
+     * Ensures that the value is not negative.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the value is negative
+     */
+    public void isNotNegative(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && value < 0) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the value is not negative.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the value is negative
+     */
+    public void isNotNegative(final Supplier<String> message) {
+        if (CHEAP_CHECKS && value < 0) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the value is in the specified range.
+     *
+     * @param minimum
+     *            the minimum value (inclusive)
+     * @param maximum
+     *            the maximum value (inclusive)
+     * @throws AssertionFailedException
+     *             if the value is not in the specified range
+     */
+    public void isInRange(final int minimum, final int maximum) {
+        if (CHEAP_CHECKS && (value < minimum || value > maximum)) {
+            throwException("Value is not in range [%d, %d]: %d", minimum, maximum, value);
+        }
+    }
+
+    /**
+     * Ensures that the value is in the specified range.
+     *
+     * @param minimum
+     *            the minimum value (inclusive)
+     * @param maximum
+     *            the maximum value (inclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @throws AssertionFailedException
+     *             if the value is not in the specified range
+     */
+    public void isInRange(final int minimum, final int maximum, final String explanation) {
+        if (CHEAP_CHECKS && (value < minimum || value > maximum)) {
+            throwException(explanation, NO_ARGS);
+        }
+    }
+
+    /**
+     * Ensures that the value is in the specified range.
+     *
+     * @param minimum
+     *            the minimum value (inclusive)
+     * @param maximum
+     *            the maximum value (inclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param arg
+     *            the argument referenced by the format specifier in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the value is not in the specified range
+     */
+    public void isInRange(final int minimum, final int maximum, final String explanation,
+            @CheckForNull final Object arg) {
+        if (CHEAP_CHECKS && (value < minimum || value > maximum)) {
+            throwException(explanation, arg);
+        }
+    }
+
+    /**
+     * Ensures that the value is in the specified range.
+     *
+     * @param minimum
+     *            the minimum value (inclusive)
+     * @param maximum
+     *            the maximum value (inclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param firstArg
+     *            the first argument referenced by the format specifiers in the formatted explanation
+     * @param secondArg
+     *            the second argument referenced by the format specifiers in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the value is not in the specified range
+     */
+    public void isInRange(final int minimum, final int maximum, final String explanation,
+            @CheckForNull final Object firstArg, @CheckForNull final Object secondArg) {
+        if (CHEAP_CHECKS && (value < minimum || value > maximum)) {
+            throwException(explanation, firstArg, secondArg);
+        }
+    }
+
+    /**
+     * Ensures that the value is in the specified range.
+     *
+     * @param minimum
+     *            the minimum value (inclusive)
+     * @param maximum
+     *            the maximum value (inclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the value is not in the specified range
+     */
+    public void isInRange(final int minimum, final int maximum, final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && (value < minimum || value > maximum)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the value is in the specified range.
+     *
+     * @param minimum
+     *            the minimum value (inclusive)
+     * @param maximum
+     *            the maximum value (inclusive)
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the value is not in the specified range
+     */
+    public void isInRange(final int minimum, final int maximum, final Supplier<String> message) {
+        if (CHEAP_CHECKS && (value < minimum || value > maximum)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the value is less than the specified bound.
+     *
+     * @param bound
+     *            the upper bound (exclusive)
+     * @throws AssertionFailedException
+     *             if the value is not less than the bound
+     */
+    public void isLessThan(final int bound) {
+        if (CHEAP_CHECKS && value >= bound) {
+            throwException("Value is not less than %d: %d", bound, value);
+        }
+    }
+
+    /**
+     * Ensures that the value is less than the specified bound.
+     *
+     * @param bound
+     *            the upper bound (exclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @throws AssertionFailedException
+     *             if the value is not less than the bound
+     */
+    public void isLessThan(final int bound, final String explanation) {
+        if (CHEAP_CHECKS && value >= bound) {
+            throwException(explanation, NO_ARGS);
+        }
+    }
+
+    /**
+     * Ensures that the value is less than the specified bound.
+     *
+     * @param bound
+     *            the upper bound (exclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param arg
+     *            the argument referenced by the format specifier in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the value is not less than the bound
+     */
+    public void isLessThan(final int bound, final String explanation, @CheckForNull final Object arg) {
+        if (CHEAP_CHECKS && value >= bound) {
+            throwException(explanation, arg);
+        }
+    }
+
+    /**
+     * Ensures that the value is less than the specified bound.
+     *
+     * @param bound
+     *            the upper bound (exclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param firstArg
+     *            the first argument referenced by the format specifiers in the formatted explanation
+     * @param secondArg
+     *            the second argument referenced by the format specifiers in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the value is not less than the bound
+     */
+    public void isLessThan(final int bound, final String explanation, @CheckForNull final Object firstArg,
+            @CheckForNull final Object secondArg) {
+        if (CHEAP_CHECKS && value >= bound) {
+            throwException(explanation, firstArg, secondArg);
+        }
+    }
+
+    /**
+     * Ensures that the value is less than the specified bound.
+     *
+     * @param bound
+     *            the upper bound (exclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the value is not less than the bound
+     */
+    public void isLessThan(final int bound, final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && value >= bound) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the value is less than the specified bound.
+     *
+     * @param bound
+     *            the upper bound (exclusive)
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the value is not less than the bound
+     */
+    public void isLessThan(final int bound, final Supplier<String> message) {
+        if (CHEAP_CHECKS && value >= bound) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the value is greater than the specified bound.
+     *
+     * @param bound
+     *            the lower bound (exclusive)
+     * @throws AssertionFailedException
+     *             if the value is not greater than the bound
+     */
+    public void isGreaterThan(final int bound) {
+        if (CHEAP_CHECKS && value <= bound) {
+            throwException("Value is not greater than %d: %d", bound, value);
+        }
+    }
+
+    /**
+     * Ensures that the value is greater than the specified bound.
+     *
+     * @param bound
+     *            the lower bound (exclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @throws AssertionFailedException
+     *             if the value is not greater than the bound
+     */
+    public void isGreaterThan(final int bound, final String explanation) {
+        if (CHEAP_CHECKS && value <= bound) {
+            throwException(explanation, NO_ARGS);
+        }
+    }
+
+    /**
+     * Ensures that the value is greater than the specified bound.
+     *
+     * @param bound
+     *            the lower bound (exclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param arg
+     *            the argument referenced by the format specifier in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the value is not greater than the bound
+     */
+    public void isGreaterThan(final int bound, final String explanation, @CheckForNull final Object arg) {
+        if (CHEAP_CHECKS && value <= bound) {
+            throwException(explanation, arg);
+        }
+    }
+
+    /**
+     * Ensures that the value is greater than the specified bound.
+     *
+     * @param bound
+     *            the lower bound (exclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param firstArg
+     *            the first argument referenced by the format specifiers in the formatted explanation
+     * @param secondArg
+     *            the second argument referenced by the format specifiers in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the value is not greater than the bound
+     */
+    public void isGreaterThan(final int bound, final String explanation, @CheckForNull final Object firstArg,
+            @CheckForNull final Object secondArg) {
+        if (CHEAP_CHECKS && value <= bound) {
+            throwException(explanation, firstArg, secondArg);
+        }
+    }
+
+    /**
+     * Ensures that the value is greater than the specified bound.
+     *
+     * @param bound
+     *            the lower bound (exclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the value is not greater than the bound
+     */
+    public void isGreaterThan(final int bound, final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && value <= bound) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the value is greater than the specified bound.
+     *
+     * @param bound
+     *            the lower bound (exclusive)
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the value is not greater than the bound
+     */
+    public void isGreaterThan(final int bound, final Supplier<String> message) {
+        if (CHEAP_CHECKS && value <= bound) {
+            throwException(message);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package edu.hm.hafner.util;
+
+import static edu.hm.hafner.util.Ensure.CHEAP_CHECKS;
+import static edu.hm.hafner.util.Ensure.FULL_CHECKS;
+import static edu.hm.hafner.util.Ensure.NO_ARGS;
+import static edu.hm.hafner.util.Ensure.throwException;
+
+import java.util.Collection;
+import java.util.Formatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+
+/**
+ * Assertions for iterables.
+ *
+ * @author Ulli Hafner
+ */
+public class IterableCondition extends ObjectCondition {
+    private final Iterable<?> value;
+    @CheckForNull
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Creates a new instance of {@link IterableCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    public IterableCondition(@CheckForNull final Iterable<?> value) {
+        this(value, null, 0);
+    }
+
+    private IterableCondition(@CheckForNull final Iterable<?> value, @CheckForNull final ForkJoinPool pool,
+            final int threshold) {
+        super(value);
+
+        this.value = value;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns a condition that scans the elements of the iterable for <code>null</code> in parallel using the
+     * shared {@link ForkJoinPool} of this package. Only {@link RandomAccess} lists are scanned in parallel, all
+     * other iterables are scanned by the calling thread. Lists with at most
+     * {@value ParallelNullScan#DEFAULT_THRESHOLD} elements are scanned by the calling thread as well.
+     *
+     * @return a condition that scans in parallel
+     */
+    public IterableCondition inParallel() {
+        return inParallel(ForkJoinPools.getSharedPool(), ParallelNullScan.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns a condition that scans the elements of the iterable for <code>null</code> in parallel using the
+     * specified {@link ForkJoinPool}. Only {@link RandomAccess} lists are scanned in parallel, all other
+     * iterables are scanned by the calling thread.
+     *
+     * @param forkJoinPool
+     *            the pool to run the scan in
+     * @param segmentSize
+     *            the maximum number of elements a single task scans, lists that are not larger are scanned by
+     *            the calling thread
+     * @return a condition that scans in parallel
+     */
+    public IterableCondition inParallel(final ForkJoinPool forkJoinPool, final int segmentSize) {
+        Requirements.requireNotNull(forkJoinPool);
+        Requirements.requireTrue(segmentSize > 0, "Segment size must be positive: %d", segmentSize);
+
+        return new IterableCondition(value, forkJoinPool, segmentSize);
+    }
+
+    /**
+     * Ensures that the given iterable is not <code>null</code> and contains
+     * at least one element. Additionally, ensures that each element of the
+     * iterable is not <code>null</code>. Elements of {@link NullHostileTypes
+     * null hostile collections} are not scanned, and instances that are registered
+     * in the {@link ValidationCache} are scanned only once.
+     *
+     * @throws AssertionFailedException
+     *             if the iterable is empty (or <code>null</code>), or at least
+     *             one iterable element is <code>null</code>.
+     */
+    public void isNotEmpty() {
+        isNotEmpty("Iterable is empty or NULL", NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given iterable is not <code>null</code> and contains
+     * at least one element. Additionally, ensures that each element of the
+     * iterable is not <code>null</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the iterable is empty (or <code>null</code>), or at
+     *             least one iterable element is <code>null</code>.
+     */
+    public void isNotEmpty(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && isEmptyOrContainsNull()) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given iterable is not <code>null</code> and contains
+     * at least one element. Additionally, ensures that each element of the
+     * iterable is not <code>null</code>.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the iterable is empty (or <code>null</code>), or at
+     *             least one iterable element is <code>null</code>.
+     */
+    public void isNotEmpty(final Supplier<String> message) {
+        if (CHEAP_CHECKS && isEmptyOrContainsNull()) {
+            throwException(message);
+        }
+    }
+
+    private boolean isEmptyOrContainsNull() {
+        if (value == null) {
+            return true;
+        }
+        if (ValidationCache.isValidated(value)) {
+            return false;
+        }
+
+        boolean containsNull;
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>)value;
+            if (collection.isEmpty()) {
+                return true;
+            }
+            if (!FULL_CHECKS || NullHostileTypes.isNullHostile(collection)) {
+                return false;
+            }
+            containsNull = containsNull(collection);
+        }
+        else {
+            Iterator<?> iterator = value.iterator();
+            if (!iterator.hasNext()) {
+                return true;
+            }
+            if (!FULL_CHECKS) {
+                return false;
+            }
+            containsNull = containsNull(iterator);
+        }
+        if (!containsNull) {
+            ValidationCache.markValidated(value);
+        }
+        return containsNull;
+    }
+
+    private boolean containsNull(final Collection<?> collection) {
+        if (collection instanceof List && collection instanceof RandomAccess) {
+            if (pool != null) {
+                return ParallelNullScan.containsNull(pool, (List<?>)collection, threshold);
+            }
+            return containsNull((List<?>)collection);
+        }
+        return containsNull(collection.iterator());
+    }
+
+    private static boolean containsNull(final List<?> list) {
+        int size = list.size();
+        for (int i = 0; i < size; i++) {
+            if (list.get(i) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsNull(final Iterator<?> iterator) {
+        while (iterator.hasNext()) {
+            if (iterator.next() == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,237 @@
+package edu.hm.hafner.util;
+
+import static edu.hm.hafner.util.Ensure.CHEAP_CHECKS;
+import static edu.hm.hafner.util.Ensure.FULL_CHECKS;
+import static edu.hm.hafner.util.Ensure.throwException;
+
+import java.util.Formatter;
+import java.util.Iterator;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
+import com.google.common.collect.Iterators;
+
+/**
+ * Assertions for lazily produced sequences, e.g. database cursors or the lines of a file. The checks return an
+ * iterator that validates each element when it is consumed, so the sequence is traversed only once and never
+ * buffered. A failing element is reported with its index, a custom message is followed by the index:
+ *
+ * <pre>
+ * for (Iterator&lt;Row&gt; rows = Ensure.that(cursor).isNotEmpty(); rows.hasNext();) {
+ *     process(rows.next());
+ * }
+ * </pre>
+ *
+ * Validating the elements is a {@link ContractLevel#FULL full} check: at the other levels the returned iterator is
+ * the original iterator.
+ *
+ * @param <T>
+ *            type of the elements
+ * @author Ulli Hafner
+ */
+public class IteratorCondition<T> {
+    private static final String NULL_ELEMENT = "Iterator element %d is NULL";
+    private static final String NOT_MATCHING_ELEMENT = "Iterator element %d does not satisfy %s: %s";
+    private static final String FAILING_ELEMENT = "%s (iterator element %d)";
+
+    @CheckForNull
+    private final Iterator<T> value;
+
+    /**
+     * Creates a new instance of {@link IteratorCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    public IteratorCondition(@CheckForNull final Iterator<T> value) {
+        this.value = value;
+    }
+
+    /**
+     * Ensures that the iterator is not <code>null</code> and has at least one element. Each element of the returned
+     * iterator is ensured to be not <code>null</code> when it is consumed.
+     *
+     * @return an iterator that validates the elements
+     * @throws AssertionFailedException
+     *             if the iterator is <code>null</code> or empty, or later if the returned iterator reaches a
+     *             <code>null</code> element
+     */
+    public Iterator<T> isNotEmpty() {
+        if (isEmpty()) {
+            throwException("Iterator is empty or NULL");
+            return emptyIfNull();
+        }
+        return validate(null, null, Ensure.NO_ARGS, null);
+    }
+
+    /**
+     * Ensures that the iterator is not <code>null</code> and has at least one element. Each element of the returned
+     * iterator is ensured to be not <code>null</code> when it is consumed.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @return an iterator that validates the elements
+     * @throws AssertionFailedException
+     *             if the iterator is <code>null</code> or empty, or later if the returned iterator reaches a
+     *             <code>null</code> element
+     */
+    public Iterator<T> isNotEmpty(final String explanation, final Object... args) {
+        if (isEmpty()) {
+            throwException(explanation, args);
+            return emptyIfNull();
+        }
+        return validate(null, explanation, args, null);
+    }
+
+    /**
+     * Ensures that the iterator is not <code>null</code> and has at least one element. Each element of the returned
+     * iterator is ensured to be not <code>null</code> when it is consumed.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the supplier is invoked only if the assertion fails
+     * @return an iterator that validates the elements
+     * @throws AssertionFailedException
+     *             if the iterator is <code>null</code> or empty, or later if the returned iterator reaches a
+     *             <code>null</code> element
+     */
+    public Iterator<T> isNotEmpty(final Supplier<String> message) {
+        if (isEmpty()) {
+            throwException(message);
+            return emptyIfNull();
+        }
+        return validate(null, null, Ensure.NO_ARGS, message);
+    }
+
+    /**
+     * Ensures that the iterator is not <code>null</code>. Each element of the returned iterator is ensured to satisfy
+     * the specified predicate when it is consumed.
+     *
+     * @param predicate
+     *            the predicate each element must satisfy
+     * @return an iterator that validates the elements
+     * @throws AssertionFailedException
+     *             if the iterator is <code>null</code>, or later if the returned iterator reaches an element that
+     *             does not satisfy the predicate
+     */
+    public Iterator<T> allMatch(final Predicate<? super T> predicate) {
+        if (CHEAP_CHECKS && value == null) {
+            throwException("Iterator is NULL");
+            return emptyIfNull();
+        }
+        return validate(predicate, null, Ensure.NO_ARGS, null);
+    }
+
+    /**
+     * Ensures that the iterator is not <code>null</code>. Each element of the returned iterator is ensured to satisfy
+     * the specified predicate when it is consumed.
+     *
+     * @param predicate
+     *            the predicate each element must satisfy
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the formatted explanation. If there are more
+     *            arguments than format specifiers, the extra arguments are ignored. The number of arguments is
+     *            variable and may be zero.
+     * @return an iterator that validates the elements
+     * @throws AssertionFailedException
+     *             if the iterator is <code>null</code>, or later if the returned iterator reaches an element that
+     *             does not satisfy the predicate
+     */
+    public Iterator<T> allMatch(final Predicate<? super T> predicate, final String explanation,
+            final Object... args) {
+        if (CHEAP_CHECKS && value == null) {
+            throwException(explanation, args);
+            return emptyIfNull();
+        }
+        return validate(predicate, explanation, args, null);
+    }
+
+    private boolean isEmpty() {
+        return CHEAP_CHECKS && (value == null || !value.hasNext());
+    }
+
+    private Iterator<T> emptyIfNull() {
+        if (value == null) {
+            return Iterators.emptyIterator();
+        }
+        return value;
+    }
+
+    private Iterator<T> validate(@CheckForNull final Predicate<? super T> predicate,
+            @CheckForNull final String explanation, final Object[] args, @CheckForNull final Supplier<String> message) {
+        if (!FULL_CHECKS || value == null) {
+            return emptyIfNull();
+        }
+        return new ValidatingIterator<T>(value, predicate, explanation, args, message);
+    }
+
+    /**
+     * Validates each element when it is consumed.
+     *
+     * @param <T>
+     *            type of the elements
+     */
+    private static final class ValidatingIterator<T> implements Iterator<T> {
+        private final Iterator<T> delegate;
+        @CheckForNull
+        private final Predicate<? super T> predicate;
+        @CheckForNull
+        private final String explanation;
+        private final Object[] args;
+        @CheckForNull
+        private final Supplier<String> message;
+        private int index;
+
+        ValidatingIterator(final Iterator<T> delegate, @CheckForNull final Predicate<? super T> predicate,
+                @CheckForNull final String explanation, final Object[] args,
+                @CheckForNull final Supplier<String> message) {
+            this.delegate = delegate;
+            this.predicate = predicate;
+            this.explanation = explanation;
+            this.args = args;
+            this.message = message;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public T next() {
+            T element = delegate.next();
+            if (predicate == null ? element == null : !predicate.apply(element)) {
+                fail(element);
+            }
+            index++;
+            return element;
+        }
+
+        private void fail(@CheckForNull final T element) {
+            if (message != null) {
+                throwException(FAILING_ELEMENT, message.get(), index);
+            }
+            else if (explanation != null) {
+                throwException(FAILING_ELEMENT, String.format(explanation, args), index);
+            }
+            else if (predicate == null) {
+                throwException(NULL_ELEMENT, index);
+            }
+            else {
+                throwException(NOT_MATCHING_ELEMENT, index, predicate, element);
+            }
+        }
+
+        @Override
+        public void remove() {
+            delegate.remove();
+        }
+    }
+}
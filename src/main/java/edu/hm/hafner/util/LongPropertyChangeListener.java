@@ -0,0 +1,24 @@
+package edu.hm.hafner.util;
+
+/**
+ * Listener for changes of long properties. In contrast to a {@link java.beans.PropertyChangeListener} neither the
+ * values are boxed nor is an event object created.
+ *
+ * @see PropertyChangeAware#addPrimitivePropertyChangeListener(String, PrimitivePropertyChangeListener)
+ * @author Ulli Hafner
+ */
+public interface LongPropertyChangeListener extends PrimitivePropertyChangeListener {
+    /**
+     * Called when a bound long property has been changed.
+     *
+     * @param source
+     *            the object on which the property has been changed
+     * @param propertyName
+     *            the programmatic name of the property that was changed
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    void propertyChange(Object source, String propertyName, long oldValue, long newValue);
+}
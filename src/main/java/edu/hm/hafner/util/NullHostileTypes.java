@@ -0,0 +1,98 @@
+package edu.hm.hafner.util;
+
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.collect.ImmutableCollection;
+
+/**
+ * Registry of iterable types that reject <code>null</code> elements by construction. Iterables of these types (or of
+ * sub types) cannot contain <code>null</code>, so {@link IterableCondition#isNotEmpty()} reduces the check to
+ * an emptiness test. Registered by default are the immutable collections of Guava, {@link EnumSet}, the queues and
+ * deques of <code>java.util.concurrent</code>, {@link ArrayDeque}, {@link PriorityQueue}, and the key, value and
+ * entry views of {@link ConcurrentHashMap} and {@link ConcurrentSkipListMap}.
+ * <p>
+ * The result for a given runtime class is computed once and then cached in a {@link ClassValue}.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class NullHostileTypes {
+    private static final List<Class<?>> TYPES = new CopyOnWriteArrayList<Class<?>>();
+    private static volatile NullHostileCache cache = new NullHostileCache();
+
+    static {
+        register(ImmutableCollection.class);
+        register(EnumSet.class);
+        register(BlockingQueue.class);
+        register(ConcurrentLinkedQueue.class);
+        register(ConcurrentLinkedDeque.class);
+        register(ConcurrentSkipListSet.class);
+        register(ArrayDeque.class);
+        register(PriorityQueue.class);
+
+        ConcurrentHashMap<Object, Object> hashMap = new ConcurrentHashMap<Object, Object>();
+        register(hashMap.keySet().getClass());
+        register(hashMap.values().getClass());
+        register(hashMap.entrySet().getClass());
+        ConcurrentSkipListMap<Object, Object> skipListMap = new ConcurrentSkipListMap<Object, Object>();
+        register(skipListMap.keySet().getClass());
+        register(skipListMap.values().getClass());
+        register(skipListMap.entrySet().getClass());
+    }
+
+    /**
+     * Registers an iterable type that rejects <code>null</code> elements. All sub types of the specified type need to
+     * reject <code>null</code> elements as well.
+     *
+     * @param type
+     *            the type to register
+     */
+    public static void register(final Class<?> type) {
+        Requirements.requireNotNull(type);
+        Requirements.requireTrue(Iterable.class.isAssignableFrom(type), "Type %s is not iterable", type);
+
+        TYPES.add(type);
+        cache = new NullHostileCache();
+    }
+
+    /**
+     * Returns whether the specified iterable rejects <code>null</code> elements by construction.
+     *
+     * @param iterable
+     *            the iterable to check
+     * @return <code>true</code> if the iterable cannot contain <code>null</code> elements, <code>false</code> if it
+     *         might contain <code>null</code> elements
+     */
+    public static boolean isNullHostile(final Iterable<?> iterable) {
+        return cache.get(iterable.getClass());
+    }
+
+    private NullHostileTypes() {
+        // prevents instantiation
+    }
+
+    /**
+     * Caches for each runtime class whether it is a sub type of one of the registered types.
+     */
+    private static final class NullHostileCache extends ClassValue<Boolean> {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            for (Class<?> nullHostileType : TYPES) {
+                if (nullHostileType.isAssignableFrom(type)) {
+                    return Boolean.TRUE;
+                }
+            }
+            return Boolean.FALSE;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package edu.hm.hafner.util;
+
+import static edu.hm.hafner.util.Ensure.CHEAP_CHECKS;
+import static edu.hm.hafner.util.Ensure.NO_ARGS;
+import static edu.hm.hafner.util.Ensure.throwException;
+
+import java.util.Formatter;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.Lists;
+
+/**
+ * Assertions for objects.
+ *
+ * @author Ulli Hafner
+ */
+public class ObjectCondition {
+    /** Empty additional values, shared to keep the checks with up to four values allocation free. */
+    static final Object[] NO_VALUES = new Object[0];
+    /** Marks an unused value slot of an {@link ObjectCondition}. This marker is never <code>null</code>. */
+    static final Object ABSENT = new Object();
+
+    private final Object value;
+    private final Object second;
+    private final Object third;
+    private final Object fourth;
+    private final Object[] additionalValues;
+
+    /**
+     * Creates a new instance of {@link ObjectCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    public ObjectCondition(@CheckForNull final Object value) {
+        this(value, ABSENT, ABSENT, ABSENT, NO_VALUES);
+    }
+
+    /**
+     * Creates a new instance of {@link ObjectCondition}.
+     *
+     * @param value
+     *            value of the condition
+     * @param additionalValues
+     *            additional values of the condition
+     */
+    public ObjectCondition(@CheckForNull final Object value, final Object[] additionalValues) {
+        this(value, ABSENT, ABSENT, ABSENT, additionalValues);
+    }
+
+    /**
+     * Creates a new instance of {@link ObjectCondition}. Unused value slots are filled with {@link #ABSENT} so
+     * that conditions with up to four values do not need an array.
+     *
+     * @param value
+     *            value of the condition
+     * @param second
+     *            second value of the condition or {@link #ABSENT}
+     * @param third
+     *            third value of the condition or {@link #ABSENT}
+     * @param fourth
+     *            fourth value of the condition or {@link #ABSENT}
+     * @param additionalValues
+     *            remaining values of the condition
+     */
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI2")
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    ObjectCondition(@CheckForNull final Object value, @CheckForNull final Object second,
+            @CheckForNull final Object third, @CheckForNull final Object fourth,
+            final Object[] additionalValues) {
+        this.value = value;
+        this.second = second;
+        this.third = third;
+        this.fourth = fourth;
+        this.additionalValues = additionalValues;
+    }
+
+    /**
+     * Ensures that the given object is not <code>null</code>.
+     *
+     * @throws AssertionFailedException
+     *             if the object is <code>null</code>
+     */
+    public void isNotNull() {
+        isNotNull("Object is NULL", NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given object is not <code>null</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @throws AssertionFailedException
+     *             if the object is <code>null</code>
+     */
+    public void isNotNull(final String explanation) {
+        isNotNull(explanation, NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given object is not <code>null</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param arg
+     *            the argument referenced by the format specifier in the
+     *            formatted explanation
+     * @throws AssertionFailedException
+     *             if the object is <code>null</code>
+     */
+    public void isNotNull(final String explanation, @CheckForNull final Object arg) {
+        if (CHEAP_CHECKS && hasNullValue()) {
+            throwException(explanation, arg);
+        }
+    }
+
+    /**
+     * Ensures that the given object is not <code>null</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param firstArg
+     *            the first argument referenced by the format specifiers in
+     *            the formatted explanation
+     * @param secondArg
+     *            the second argument referenced by the format specifiers in
+     *            the formatted explanation
+     * @throws AssertionFailedException
+     *             if the object is <code>null</code>
+     */
+    public void isNotNull(final String explanation, @CheckForNull final Object firstArg,
+            @CheckForNull final Object secondArg) {
+        if (CHEAP_CHECKS && hasNullValue()) {
+            throwException(explanation, firstArg, secondArg);
+        }
+    }
+
+    /**
+     * Ensures that the given object is not <code>null</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the object is <code>null</code>
+     */
+    public void isNotNull(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && hasNullValue()) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given object is not <code>null</code>.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the object is <code>null</code>
+     */
+    public void isNotNull(final Supplier<String> message) {
+        if (CHEAP_CHECKS && hasNullValue()) {
+            throwException(message);
+        }
+    }
+
+    private boolean hasNullValue() {
+        if (value == null || second == null || third == null || fourth == null) {
+            return true;
+        }
+        for (Object additionalValue : additionalValues) {
+            if (additionalValue == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ensures that the given object is <code>null</code>.
+     *
+     * @throws AssertionFailedException
+     *             if the object is not <code>null</code>
+     */
+    public void isNull() {
+        isNull("Object is not NULL", NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given object is <code>null</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @throws AssertionFailedException
+     *             if the object is not <code>null</code>
+     */
+    public void isNull(final String explanation) {
+        isNull(explanation, NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given object is <code>null</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param arg
+     *            the argument referenced by the format specifier in the
+     *            formatted explanation
+     * @throws AssertionFailedException
+     *             if the object is not <code>null</code>
+     */
+    public void isNull(final String explanation, @CheckForNull final Object arg) {
+        if (CHEAP_CHECKS && value != null) {
+            throwException(explanation, arg);
+        }
+    }
+
+    /**
+     * Ensures that the given object is <code>null</code>.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the object is not <code>null</code>
+     */
+    public void isNull(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && value != null) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given object is <code>null</code>.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the object is not <code>null</code>
+     */
+    public void isNull(final Supplier<String> message) {
+        if (CHEAP_CHECKS && value != null) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the given object is an instance of one of the specified types.
+     *
+     * @param type
+     *            the type to check the specified object for
+     * @param additionalTypes
+     *            the additional types to check the specified object for
+     * @throws AssertionFailedException
+     *             the specified object is not an instance of the given type (or
+     *             <code>null</code>)
+     */
+    public void isInstanceOf(final Class<?> type, final Class<?>... additionalTypes) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && !isInstance(type, additionalTypes)) {
+            throwException("Object is of wrong type. Actual: %s. Expected one of: %s", value,
+                    Lists.asList(type, additionalTypes));
+        }
+    }
+
+    private boolean isInstance(final Class<?> type, final Class<?>... additionalTypes) {
+        if (type.isInstance(value)) {
+            return true;
+        }
+        for (Class<?> additionalType : additionalTypes) {
+            if (additionalType.isInstance(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ensures that the given object is an instance of the specified type.
+     *
+     * @param type
+     *            the type to check the specified object for
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             the specified object is not an instance of the given type (or
+     *             <code>null</code>)
+     */
+    public void isInstanceOf(final Class<?> type, final String explanation, final Object... args) {
+        isNotNull(explanation);
+
+        if (CHEAP_CHECKS && value != null && !type.isInstance(value)) {
+            throwException(explanation, args);
+        }
+
+    }
+
+    /**
+     * Ensures that the given object is an instance of the specified type.
+     *
+     * @param type
+     *            the type to check the specified object for
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             the specified object is not an instance of the given type (or
+     *             <code>null</code>)
+     */
+    public void isInstanceOf(final Class<?> type, final Supplier<String> message) {
+        isNotNull(message);
+
+        if (CHEAP_CHECKS && value != null && !type.isInstance(value)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the given object is an instance of one of the types
+     * of the specified type set. The result is cached per runtime class,
+     * see {@link TypeSet}.
+     *
+     * @param types
+     *            the types to check the specified object for
+     * @throws AssertionFailedException
+     *             the specified object is not an instance of the given types (or
+     *             <code>null</code>)
+     */
+    public void isInstanceOf(final TypeSet types) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && !types.isInstance(value)) {
+            throwException("Object is of wrong type. Actual: %s. Expected one of: %s", value, types);
+        }
+    }
+
+    /**
+     * Ensures that the given object is an instance of one of the types
+     * of the specified type set. The result is cached per runtime class,
+     * see {@link TypeSet}.
+     *
+     * @param types
+     *            the types to check the specified object for
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             the specified object is not an instance of the given types (or
+     *             <code>null</code>)
+     */
+    public void isInstanceOf(final TypeSet types, final String explanation, final Object... args) {
+        isNotNull(explanation);
+
+        if (CHEAP_CHECKS && value != null && !types.isInstance(value)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given object is an instance of one of the types
+     * of the specified type set. The result is cached per runtime class,
+     * see {@link TypeSet}.
+     *
+     * @param types
+     *            the types to check the specified object for
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             the specified object is not an instance of the given types (or
+     *             <code>null</code>)
+     */
+    public void isInstanceOf(final TypeSet types, final Supplier<String> message) {
+        isNotNull(message);
+
+        if (CHEAP_CHECKS && value != null && !types.isInstance(value)) {
+            throwException(message);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package edu.hm.hafner.util;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Scans the elements of an array or a random access list for <code>null</code> using a {@link ForkJoinPool}. The
+ * elements are split into segments until a segment is not larger than a given threshold. All tasks share a flag
+ * that is set as soon as a <code>null</code> element has been found: tasks that have not been started yet return
+ * immediately and running tasks stop after the current chunk of elements. Arrays are scanned directly, without
+ * wrapping them in a list.
+ *
+ * @author Ulli Hafner
+ */
+final class ParallelNullScan extends RecursiveAction {
+    private static final long serialVersionUID = -5286211931016584307L;
+
+    /** Number of elements that are scanned before the shared flag is checked again. */
+    private static final int CHUNK_SIZE = 1024;
+
+    /** Default threshold: smaller lists are scanned sequentially since splitting costs more than it gains. */
+    static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    /**
+     * Returns whether the specified list contains a <code>null</code> element. Lists that are not larger than the
+     * threshold are scanned by the calling thread.
+     *
+     * @param pool
+     *            the pool to run the scan in
+     * @param elements
+     *            the elements to scan, must be a {@link RandomAccess} list
+     * @param threshold
+     *            the maximum number of elements a single task scans sequentially
+     * @return <code>true</code> if the list contains a <code>null</code> element, <code>false</code> otherwise
+     */
+    static boolean containsNull(final ForkJoinPool pool, final List<?> elements, final int threshold) {
+        return run(pool, new ParallelNullScan(elements, null, 0, elements.size(), threshold, new AtomicBoolean()));
+    }
+
+    /**
+     * Returns whether the specified array contains a <code>null</code> element. Arrays that are not larger than the
+     * threshold are scanned by the calling thread.
+     *
+     * @param pool
+     *            the pool to run the scan in
+     * @param elements
+     *            the elements to scan
+     * @param threshold
+     *            the maximum number of elements a single task scans sequentially
+     * @return <code>true</code> if the array contains a <code>null</code> element, <code>false</code> otherwise
+     */
+    static boolean containsNull(final ForkJoinPool pool, final Object[] elements, final int threshold) {
+        return run(pool, new ParallelNullScan(null, elements, 0, elements.length, threshold, new AtomicBoolean()));
+    }
+
+    private static boolean run(final ForkJoinPool pool, final ParallelNullScan scan) {
+        if (scan.to <= scan.threshold) {
+            scan.scan();
+        }
+        else {
+            pool.invoke(scan);
+        }
+        return scan.found.get();
+    }
+
+    /** The elements to scan if a list is scanned, <code>null</code> otherwise. */
+    @CheckForNull
+    private final List<?> list;
+    /** The elements to scan if an array is scanned, <code>null</code> otherwise. */
+    @CheckForNull
+    private final Object[] array;
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final AtomicBoolean found;
+
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI2")
+    private ParallelNullScan(@CheckForNull final List<?> list, @CheckForNull final Object[] array, final int from,
+            final int to, final int threshold, final AtomicBoolean found) {
+        super();
+
+        this.list = list;
+        this.array = array;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.found = found;
+    }
+
+    @Override
+    protected void compute() {
+        if (found.get()) {
+            return;
+        }
+        if (to - from <= threshold) {
+            scan();
+        }
+        else {
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParallelNullScan(list, array, from, middle, threshold, found),
+                    new ParallelNullScan(list, array, middle, to, threshold, found));
+        }
+    }
+
+    private void scan() {
+        int chunk = from;
+        while (chunk < to) {
+            if (found.get()) {
+                return;
+            }
+            int end = to - chunk > CHUNK_SIZE ? chunk + CHUNK_SIZE : to;
+            if (array == null ? containsNull(list, chunk, end) : containsNull(array, chunk, end)) {
+                found.set(true);
+                return;
+            }
+            chunk = end;
+        }
+    }
+
+    private static boolean containsNull(final List<?> elements, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (elements.get(i) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsNull(final Object[] elements, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (elements[i] == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,91 @@
+package edu.hm.hafner.util;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.google.common.base.Predicate;
+
+/**
+ * Searches the elements of a random access list that satisfy a predicate using a {@link ForkJoinPool}. The list is
+ * split into segments until a segment is not larger than a given threshold. All tasks push their matches into a
+ * shared {@link SingletonCollector}: as soon as the collector has seen a second match, tasks that have not been
+ * started yet return immediately and running tasks stop after the current chunk of elements.
+ *
+ * @param <T> the type of the elements
+ * @author Ulli Hafner
+ */
+final class ParallelSingletonSearch<T> extends RecursiveAction {
+    private static final long serialVersionUID = 2940417271530781266L;
+
+    /** Number of elements that are searched before the shared collector is checked again. */
+    private static final int CHUNK_SIZE = 1024;
+
+    private final List<T> elements;
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final Predicate<? super T> predicate;
+    private final SingletonCollector<T> collector;
+
+    /**
+     * Creates a new instance of {@link ParallelSingletonSearch}.
+     *
+     * @param elements
+     *            the elements to search, must be a {@link RandomAccess} list
+     * @param from
+     *            the index of the first element to search
+     * @param to
+     *            the index after the last element to search
+     * @param threshold
+     *            the maximum number of elements a single task searches sequentially
+     * @param predicate
+     *            the predicate the elements must satisfy
+     * @param collector
+     *            the collector that receives the matching elements
+     */
+    ParallelSingletonSearch(final List<T> elements, final int from, final int to, final int threshold,
+            final Predicate<? super T> predicate, final SingletonCollector<T> collector) {
+        super();
+
+        this.elements = elements;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.predicate = predicate;
+        this.collector = collector;
+    }
+
+    @Override
+    protected void compute() {
+        if (collector.isMultiple()) {
+            return;
+        }
+        if (to - from <= threshold) {
+            search();
+        }
+        else {
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParallelSingletonSearch<T>(elements, from, middle, threshold, predicate, collector),
+                    new ParallelSingletonSearch<T>(elements, middle, to, threshold, predicate, collector));
+        }
+    }
+
+    private void search() {
+        int chunk = from;
+        while (chunk < to) {
+            if (collector.isMultiple()) {
+                return;
+            }
+            int end = to - chunk > CHUNK_SIZE ? chunk + CHUNK_SIZE : to;
+            for (int i = chunk; i < end; i++) {
+                T element = elements.get(i);
+                if (predicate.apply(element) && !collector.accept(element)) {
+                    return;
+                }
+            }
+            chunk = end;
+        }
+    }
+}
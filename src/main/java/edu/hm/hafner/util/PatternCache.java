@@ -0,0 +1,84 @@
+package edu.hm.hafner.util;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * A bounded cache of compiled regular expressions. The cache is thread safe and evicts the least recently used
+ * patterns if it exceeds its maximum size of {@value #MAXIMUM_SIZE} patterns. Hits and misses are recorded, see
+ * {@link #getStatistics()}.
+ *
+ * @author Ulli Hafner
+ */
+public final class PatternCache {
+    /** Maximum number of cached patterns. */
+    public static final int MAXIMUM_SIZE = 1024;
+
+    private static final LoadingCache<String, Pattern> PATTERNS = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .recordStats()
+            .build(new CacheLoader<String, Pattern>() {
+                @Override
+                public Pattern load(final String regex) {
+                    return Pattern.compile(regex);
+                }
+            });
+
+    /**
+     * Returns the compiled pattern of the specified regular expression. The pattern is compiled only if it is not
+     * already in the cache.
+     *
+     * @param regex
+     *            the regular expression
+     * @return the compiled pattern
+     * @throws PatternSyntaxException
+     *             if the syntax of the regular expression is invalid
+     */
+    public static Pattern compile(final String regex) {
+        try {
+            return PATTERNS.getUnchecked(regex);
+        }
+        catch (UncheckedExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof PatternSyntaxException) {
+                throw (PatternSyntaxException)cause;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns the statistics of this cache, e.g. the number of hits and misses.
+     *
+     * @return the statistics
+     */
+    public static CacheStats getStatistics() {
+        return PATTERNS.stats();
+    }
+
+    /**
+     * Returns the number of cached patterns.
+     *
+     * @return the number of patterns
+     */
+    public static long size() {
+        return PATTERNS.size();
+    }
+
+    /**
+     * Removes all patterns from this cache.
+     */
+    public static void clear() {
+        PATTERNS.invalidateAll();
+    }
+
+    private PatternCache() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,15 @@
+package edu.hm.hafner.util;
+
+import java.util.EventListener;
+
+/**
+ * Base interface of the listeners that are notified about changes of primitive properties without boxing the values.
+ * Implementations should implement exactly one of the sub interfaces {@link IntPropertyChangeListener},
+ * {@link LongPropertyChangeListener}, {@link DoublePropertyChangeListener} and {@link BooleanPropertyChangeListener}.
+ *
+ * @see PropertyChangeAware#addPrimitivePropertyChangeListener(PrimitivePropertyChangeListener)
+ * @author Ulli Hafner
+ */
+public interface PrimitivePropertyChangeListener extends EventListener {
+    // marker interface
+}
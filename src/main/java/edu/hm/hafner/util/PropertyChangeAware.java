@@ -2,47 +2,193 @@ package edu.hm.hafner.util;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import javax.annotation.CheckForNull;
 
+import edu.hm.hafner.util.PropertyChangeDispatcher.Queues;
+
 /**
  * Utility class that can be used as base class for beans that support bound
  * properties. You can derive from this class and re-use the listener and
  * notification functionality.
+ * <p>
+ * The listeners are stored in an immutable snapshot that is replaced using
+ * compare-and-set whenever a listener is added or removed. Events are fired
+ * from the current snapshot without locking, so several threads may fire
+ * events concurrently.
+ * </p>
+ * <p>
+ * Besides {@link PropertyChangeListener property change listeners} this class
+ * accepts {@link PrimitivePropertyChangeListener primitive listeners} that are
+ * notified about changes of primitive properties without boxing the values or
+ * creating an event. A {@link PropertyChangeEvent} is created only if a
+ * {@link PropertyChangeListener} is registered for the changed property.
+ * </p>
+ * <p>
+ * Subclasses that fire events on every change should use the methods that
+ * accept a {@link PropertyKey}: the listeners of the property are then found
+ * by the index of the key, and if no listener is registered at all a fire
+ * costs a single read of the listener snapshot.
+ * </p>
+ * <p>
+ * Listeners are notified synchronously by default. Slow listeners can be
+ * decoupled from the thread that changes a property by
+ * {@link #setPropertyChangeDispatcher(PropertyChangeDispatcher) setting} a
+ * {@link PropertyChangeDispatcher}.
+ * </p>
  *
  * @author Ulli Hafner
  */
 public class PropertyChangeAware implements IPropertyChangeAware {
-    /** Delegate to do the actual work. */
-    private final PropertyChangeSupport listenerSupport = new PropertyChangeSupport(this);
+    private static final AtomicReferenceFieldUpdater<PropertyChangeAware, PropertyChangeListeners> LISTENERS
+            = AtomicReferenceFieldUpdater.newUpdater(PropertyChangeAware.class, PropertyChangeListeners.class,
+                    "listeners");
+
+    /** The registered listeners, replaced on every change. */
+    private volatile PropertyChangeListeners listeners = PropertyChangeListeners.EMPTY;
+    /** The queues of the asynchronous dispatcher, or <code>null</code> if the listeners are notified synchronously. */
+    @CheckForNull
+    private volatile Queues queues;
+
+    /**
+     * Sets the dispatcher that delivers the events of this object asynchronously. By default, the listeners are
+     * notified synchronously in the thread that fires the event. If a dispatcher is set, events are delivered by the
+     * dispatcher in the order they have been fired for each property. The order of events that are fired while the
+     * dispatcher is replaced is not defined.
+     *
+     * @param dispatcher
+     *            the dispatcher, or <code>null</code> to notify the listeners synchronously again
+     */
+    public void setPropertyChangeDispatcher(@CheckForNull final PropertyChangeDispatcher dispatcher) {
+        queues = dispatcher == null ? null : dispatcher.createQueues();
+    }
 
     @Override
     public void addPropertyChangeListener(final PropertyChangeListener listener) {
-        Ensure.that(listener).isNotNull();
+        Requirements.requireNotNull(listener);
 
-        listenerSupport.addPropertyChangeListener(listener);
+        PropertyChangeListeners current;
+        do {
+            current = listeners;
+        }
+        while (!LISTENERS.compareAndSet(this, current, current.add(null, listener)));
     }
 
     @Override
     public void addPropertyChangeListener(final String propertyName, final PropertyChangeListener listener) {
-        Ensure.that(propertyName, listener).isNotNull();
+        Requirements.requireNotNull(propertyName, listener);
 
-        listenerSupport.addPropertyChangeListener(propertyName, listener);
+        PropertyChangeListeners current;
+        do {
+            current = listeners;
+        }
+        while (!LISTENERS.compareAndSet(this, current, current.add(propertyName, listener)));
     }
 
     @Override
     public void removePropertyChangeListener(final PropertyChangeListener listener) {
-        Ensure.that(listener).isNotNull();
+        Requirements.requireNotNull(listener);
 
-        listenerSupport.removePropertyChangeListener(listener);
+        PropertyChangeListeners current;
+        do {
+            current = listeners;
+        }
+        while (!LISTENERS.compareAndSet(this, current, current.remove(null, listener)));
     }
 
     @Override
     public void removePropertyChangeListener(final String propertyName, final PropertyChangeListener listener) {
-        Ensure.that(propertyName, listener).isNotNull();
+        Requirements.requireNotNull(propertyName, listener);
+
+        PropertyChangeListeners current;
+        do {
+            current = listeners;
+        }
+        while (!LISTENERS.compareAndSet(this, current, current.remove(propertyName, listener)));
+    }
+
+    /**
+     * Adds a {@link PrimitivePropertyChangeListener} to the listener list. The
+     * listener is registered for all properties of its type. The same listener
+     * object may be added more than once, and will be called as many times as
+     * it is added.
+     *
+     * @param listener
+     *            the {@link PrimitivePropertyChangeListener} to be added
+     */
+    public void addPrimitivePropertyChangeListener(final PrimitivePropertyChangeListener listener) {
+        Requirements.requireNotNull(listener);
+
+        PropertyChangeListeners current;
+        do {
+            current = listeners;
+        }
+        while (!LISTENERS.compareAndSet(this, current, current.add(null, listener)));
+    }
+
+    /**
+     * Adds a {@link PrimitivePropertyChangeListener} for a specific property.
+     * The same listener object may be added more than once. For each property,
+     * the listener will be invoked the number of times it was added for that
+     * property.
+     *
+     * @param propertyName
+     *            the name of the property to listen on.
+     * @param listener
+     *            the {@link PrimitivePropertyChangeListener} to be added
+     */
+    public void addPrimitivePropertyChangeListener(final String propertyName,
+            final PrimitivePropertyChangeListener listener) {
+        Requirements.requireNotNull(propertyName, listener);
+
+        PropertyChangeListeners current;
+        do {
+            current = listeners;
+        }
+        while (!LISTENERS.compareAndSet(this, current, current.add(propertyName, listener)));
+    }
+
+    /**
+     * Removes a {@link PrimitivePropertyChangeListener} that was registered
+     * for all properties. If <code>listener</code> was added more than once,
+     * it will be notified one less time after being removed. If
+     * <code>listener</code> was never added, no action is taken.
+     *
+     * @param listener
+     *            the {@link PrimitivePropertyChangeListener} to be removed
+     */
+    public void removePrimitivePropertyChangeListener(final PrimitivePropertyChangeListener listener) {
+        Requirements.requireNotNull(listener);
+
+        PropertyChangeListeners current;
+        do {
+            current = listeners;
+        }
+        while (!LISTENERS.compareAndSet(this, current, current.remove(null, listener)));
+    }
+
+    /**
+     * Removes a {@link PrimitivePropertyChangeListener} for a specific
+     * property. If <code>listener</code> was added more than once for the
+     * specified property, it will be notified one less time after being
+     * removed. If <code>listener</code> was never added for the specified
+     * property, no action is taken.
+     *
+     * @param propertyName
+     *            the name of the property that was listened on.
+     * @param listener
+     *            the {@link PrimitivePropertyChangeListener} to be removed
+     */
+    public void removePrimitivePropertyChangeListener(final String propertyName,
+            final PrimitivePropertyChangeListener listener) {
+        Requirements.requireNotNull(propertyName, listener);
 
-        listenerSupport.removePropertyChangeListener(propertyName, listener);
+        PropertyChangeListeners current;
+        do {
+            current = listeners;
+        }
+        while (!LISTENERS.compareAndSet(this, current, current.remove(propertyName, listener)));
     }
 
     /**
@@ -54,17 +200,21 @@ public class PropertyChangeAware implements IPropertyChangeAware {
      *            the PropertyChangeEvent object
      */
     protected void firePropertyChangeEvent(final PropertyChangeEvent event) {
-        Ensure.that(event).isNotNull();
+        Requirements.requireNotNull(event);
 
-        listenerSupport.firePropertyChange(event);
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY) {
+            current.fire(queues, event);
+        }
     }
 
     /**
      * Reports a boolean bound property update to any registered listeners. No
      * event is raised if old and new are equal and non-null.
      * <p>
-     * This is merely a convenience wrapper around the more general
-     * raisePropertyChangeEvent method that takes Object values.
+     * {@link BooleanPropertyChangeListener Boolean listeners} receive the
+     * values without boxing, the values are boxed only if a
+     * {@link PropertyChangeListener} is registered for the property.
      *
      * @param propertyName
      *            the programmatic name of the property that was changed
@@ -75,17 +225,21 @@ public class PropertyChangeAware implements IPropertyChangeAware {
      */
     protected void firePropertyChangeEvent(final String propertyName,
             final boolean oldValue, final boolean newValue) {
-        Ensure.that(propertyName).isNotNull();
+        Requirements.requireNotNull(propertyName);
 
-        listenerSupport.firePropertyChange(propertyName, oldValue, newValue);
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY && oldValue != newValue) {
+            current.fire(queues, this, propertyName, null, oldValue, newValue);
+        }
     }
 
     /**
      * Reports an integer bound property update to any registered listeners. No event
      * is raised if old and new are equal and non-null.
      * <p>
-     * This is merely a convenience wrapper around the more general
-     * raisePropertyChangeEvent method that takes Object values.
+     * {@link IntPropertyChangeListener Integer listeners} receive the values
+     * without boxing, the values are boxed only if a
+     * {@link PropertyChangeListener} is registered for the property.
      *
      * @param propertyName
      *            the programmatic name of the property that was changed
@@ -96,9 +250,64 @@ public class PropertyChangeAware implements IPropertyChangeAware {
      */
     protected void firePropertyChangeEvent(final String propertyName,
             final int oldValue, final int newValue) {
-        Ensure.that(propertyName).isNotNull();
+        Requirements.requireNotNull(propertyName);
 
-        listenerSupport.firePropertyChange(propertyName, oldValue, newValue);
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY && oldValue != newValue) {
+            current.fire(queues, this, propertyName, null, oldValue, newValue);
+        }
+    }
+
+    /**
+     * Reports a long bound property update to any registered listeners. No
+     * event is raised if old and new are equal.
+     * <p>
+     * {@link LongPropertyChangeListener Long listeners} receive the values
+     * without boxing, the values are boxed only if a
+     * {@link PropertyChangeListener} is registered for the property.
+     *
+     * @param propertyName
+     *            the programmatic name of the property that was changed
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    protected void firePropertyChangeEvent(final String propertyName,
+            final long oldValue, final long newValue) {
+        Requirements.requireNotNull(propertyName);
+
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY && oldValue != newValue) {
+            current.fire(queues, this, propertyName, null, oldValue, newValue);
+        }
+    }
+
+    /**
+     * Reports a double bound property update to any registered listeners. No
+     * event is raised if old and new are equal in terms of
+     * {@link Double#equals(Object)}, i.e. <code>NaN</code> is equal to itself
+     * while <code>0.0</code> and <code>-0.0</code> are different.
+     * <p>
+     * {@link DoublePropertyChangeListener Double listeners} receive the values
+     * without boxing, the values are boxed only if a
+     * {@link PropertyChangeListener} is registered for the property.
+     *
+     * @param propertyName
+     *            the programmatic name of the property that was changed
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    protected void firePropertyChangeEvent(final String propertyName,
+            final double oldValue, final double newValue) {
+        Requirements.requireNotNull(propertyName);
+
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY && isChanged(oldValue, newValue)) {
+            current.fire(queues, this, propertyName, null, oldValue, newValue);
+        }
     }
 
     /**
@@ -114,9 +323,12 @@ public class PropertyChangeAware implements IPropertyChangeAware {
      */
     protected void firePropertyChangeEvent(final String propertyName,
             @CheckForNull final Object oldValue, @CheckForNull final Object newValue) {
-        Ensure.that(propertyName).isNotNull();
+        Requirements.requireNotNull(propertyName);
 
-        listenerSupport.firePropertyChange(propertyName, oldValue, newValue);
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY) {
+            current.fire(queues, this, propertyName, null, oldValue, newValue);
+        }
     }
 
     /**
@@ -130,8 +342,165 @@ public class PropertyChangeAware implements IPropertyChangeAware {
      *            the new value of the property
      */
     protected void firePropertyChangeEvent(final String propertyName, @CheckForNull final Object newValue) {
-        Ensure.that(propertyName).isNotNull();
+        Requirements.requireNotNull(propertyName);
+
+        firePropertyChangeEvent(propertyName, null, newValue);
+    }
+
+    /**
+     * Returns whether a listener would be notified about changes of the
+     * specified property. Use this method to skip the computation of values
+     * that are only required for firing an event.
+     *
+     * @param property
+     *            the key of the property
+     * @return <code>true</code> if there is at least one listener,
+     *         <code>false</code> otherwise
+     */
+    protected boolean hasListeners(final PropertyKey property) {
+        Requirements.requireNotNull(property);
+
+        return listeners.hasListeners(property);
+    }
+
+    /**
+     * Reports a boolean bound property update to any registered listeners. No
+     * event is raised if old and new are equal.
+     * <p>
+     * In contrast to {@link #firePropertyChangeEvent(String, boolean, boolean)}
+     * the listeners are found without looking up the property name. If no
+     * listener is registered at all, then the key and the values are not
+     * inspected.
+     *
+     * @param property
+     *            the key of the property that was changed
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    protected void firePropertyChangeEvent(final PropertyKey property,
+            final boolean oldValue, final boolean newValue) {
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY) {
+            Requirements.requireNotNull(property);
+
+            if (oldValue != newValue) {
+                current.fire(queues, this, property.getName(), property, oldValue, newValue);
+            }
+        }
+    }
+
+    /**
+     * Reports an integer bound property update to any registered listeners. No
+     * event is raised if old and new are equal.
+     * <p>
+     * In contrast to {@link #firePropertyChangeEvent(String, int, int)} the
+     * listeners are found without looking up the property name. If no listener
+     * is registered at all, then the key and the values are not inspected.
+     *
+     * @param property
+     *            the key of the property that was changed
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    protected void firePropertyChangeEvent(final PropertyKey property,
+            final int oldValue, final int newValue) {
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY) {
+            Requirements.requireNotNull(property);
+
+            if (oldValue != newValue) {
+                current.fire(queues, this, property.getName(), property, oldValue, newValue);
+            }
+        }
+    }
+
+    /**
+     * Reports a long bound property update to any registered listeners. No
+     * event is raised if old and new are equal.
+     * <p>
+     * In contrast to {@link #firePropertyChangeEvent(String, long, long)} the
+     * listeners are found without looking up the property name. If no listener
+     * is registered at all, then the key and the values are not inspected.
+     *
+     * @param property
+     *            the key of the property that was changed
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    protected void firePropertyChangeEvent(final PropertyKey property,
+            final long oldValue, final long newValue) {
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY) {
+            Requirements.requireNotNull(property);
+
+            if (oldValue != newValue) {
+                current.fire(queues, this, property.getName(), property, oldValue, newValue);
+            }
+        }
+    }
+
+    /**
+     * Reports a double bound property update to any registered listeners. No
+     * event is raised if old and new are equal in terms of
+     * {@link Double#equals(Object)}.
+     * <p>
+     * In contrast to {@link #firePropertyChangeEvent(String, double, double)}
+     * the listeners are found without looking up the property name. If no
+     * listener is registered at all, then the key and the values are not
+     * inspected.
+     *
+     * @param property
+     *            the key of the property that was changed
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    protected void firePropertyChangeEvent(final PropertyKey property,
+            final double oldValue, final double newValue) {
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY) {
+            Requirements.requireNotNull(property);
+
+            if (isChanged(oldValue, newValue)) {
+                current.fire(queues, this, property.getName(), property, oldValue, newValue);
+            }
+        }
+    }
+
+    /**
+     * Reports a bound property update to any registered listeners. No event is
+     * raised if old and new are equal and non-null.
+     * <p>
+     * In contrast to {@link #firePropertyChangeEvent(String, Object, Object)}
+     * the listeners are found without looking up the property name. If no
+     * listener is registered at all, then the key and the values are not
+     * inspected.
+     *
+     * @param property
+     *            the key of the property that was changed
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    protected void firePropertyChangeEvent(final PropertyKey property,
+            @CheckForNull final Object oldValue, @CheckForNull final Object newValue) {
+        PropertyChangeListeners current = listeners;
+        if (current != PropertyChangeListeners.EMPTY) {
+            Requirements.requireNotNull(property);
+
+            current.fire(queues, this, property.getName(), property, oldValue, newValue);
+        }
+    }
 
-        listenerSupport.firePropertyChange(propertyName, null, newValue);
+    private static boolean isChanged(final double oldValue, final double newValue) {
+        return Double.doubleToLongBits(oldValue) != Double.doubleToLongBits(newValue);
     }
 }
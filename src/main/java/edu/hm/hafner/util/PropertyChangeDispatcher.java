@@ -0,0 +1,295 @@
+package edu.hm.hafner.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Ticker;
+
+/**
+ * Delivers the events of {@link PropertyChangeAware} instances asynchronously using an {@link Executor}. The thread
+ * that changes a property only enqueues the event, the listeners are notified by a thread of the executor. Events of
+ * the same source and property are delivered one after another in the order they have been fired, events of different
+ * sources or properties may be delivered concurrently.
+ * <p>
+ * A dispatcher may be shared by many sources. Its queue depth and dispatch lag are available through the
+ * {@link PropertyChangeDispatcherMXBean} interface, so the dispatcher can be registered at an MBean server. Exceptions
+ * thrown by listeners are logged, they abort the delivery of the current event only.
+ * </p>
+ *
+ * @see PropertyChangeAware#setPropertyChangeDispatcher(PropertyChangeDispatcher)
+ * @author Ulli Hafner
+ */
+public final class PropertyChangeDispatcher implements PropertyChangeDispatcherMXBean {
+    private static final Logger LOGGER = Logger.getLogger(PropertyChangeDispatcher.class.getName());
+
+    /** Number of events a queue delivers before it yields the executor thread to other queues. */
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * Creates a dispatcher that delivers each event batch in a new virtual thread. Virtual threads are available
+     * starting with Java 21, on older JDKs the events are delivered by the shared
+     * {@link java.util.concurrent.ForkJoinPool} of this package.
+     *
+     * @return the dispatcher
+     */
+    public static PropertyChangeDispatcher withVirtualThreads() {
+        Optional<Executor> executor = createVirtualThreadExecutor();
+        if (executor.isPresent()) {
+            return new PropertyChangeDispatcher(executor.get());
+        }
+        return new PropertyChangeDispatcher(ForkJoinPools.getSharedPool());
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task, if the JDK supports virtual threads.
+     *
+     * @return the executor, or an absent value if virtual threads are not supported
+     */
+    static Optional<Executor> createVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of((Executor)factory.invoke(null));
+        }
+        catch (NoSuchMethodException exception) {
+            return Optional.absent();
+        }
+        catch (IllegalAccessException exception) {
+            return Optional.absent();
+        }
+        catch (InvocationTargetException exception) {
+            return Optional.absent();
+        }
+    }
+
+    private final Executor executor;
+    private final Ticker ticker;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong dispatchedEvents = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private final AtomicLong totalLag = new AtomicLong();
+    private final AtomicLong maximumLag = new AtomicLong();
+
+    /**
+     * Creates a new instance of {@link PropertyChangeDispatcher}.
+     *
+     * @param executor
+     *            the executor that delivers the events
+     */
+    public PropertyChangeDispatcher(final Executor executor) {
+        this(executor, Ticker.systemTicker());
+    }
+
+    /**
+     * Creates a new instance of {@link PropertyChangeDispatcher}.
+     *
+     * @param executor
+     *            the executor that delivers the events
+     * @param ticker
+     *            the time source for the dispatch lag
+     */
+    PropertyChangeDispatcher(final Executor executor, final Ticker ticker) {
+        Requirements.requireNotNull(executor, ticker);
+
+        this.executor = executor;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Creates the event queues of a new source.
+     *
+     * @return the queues of the source
+     */
+    Queues createQueues() {
+        return new Queues();
+    }
+
+    @Override
+    public long getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public long getDispatchedEventCount() {
+        return dispatchedEvents.get();
+    }
+
+    @Override
+    public long getAverageDispatchLag() {
+        long count = dispatchedEvents.get();
+        if (count == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMicros(totalLag.get() / count);
+    }
+
+    @Override
+    public long getMaximumDispatchLag() {
+        return TimeUnit.NANOSECONDS.toMicros(maximumLag.get());
+    }
+
+    @Override
+    public long getFailedEventCount() {
+        return failedEvents.get();
+    }
+
+    @Override
+    public void reset() {
+        dispatchedEvents.set(0);
+        failedEvents.set(0);
+        totalLag.set(0);
+        maximumLag.set(0);
+    }
+
+    private void recordLag(final long lag) {
+        dispatchedEvents.incrementAndGet();
+        totalLag.addAndGet(lag);
+        long maximum = maximumLag.get();
+        while (lag > maximum && !maximumLag.compareAndSet(maximum, lag)) {
+            maximum = maximumLag.get();
+        }
+    }
+
+    /**
+     * The event queues of a single source: one serial queue per property.
+     */
+    final class Queues {
+        private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<String, Lane>();
+        /** Queue of the events without a property name. */
+        private final Lane unnamed = new Lane();
+
+        private Queues() {
+            // created by the dispatcher
+        }
+
+        /**
+         * Enqueues the delivery of an event. Deliveries of the same property are run in the order they have been
+         * enqueued.
+         *
+         * @param propertyName
+         *            the name of the changed property, or <code>null</code> if the name is not known
+         * @param delivery
+         *            the delivery of the event
+         */
+        void dispatch(@CheckForNull final String propertyName, final Runnable delivery) {
+            getLane(propertyName).add(delivery);
+        }
+
+        private Lane getLane(@CheckForNull final String propertyName) {
+            if (propertyName == null) {
+                return unnamed;
+            }
+            Lane lane = lanes.get(propertyName);
+            if (lane == null) {
+                Lane created = new Lane();
+                lane = lanes.putIfAbsent(propertyName, created);
+                if (lane == null) {
+                    return created;
+                }
+            }
+            return lane;
+        }
+    }
+
+    /**
+     * Serial queue of the deliveries of a single property. At most one executor task drains the queue at a time.
+     */
+    private final class Lane implements Runnable {
+        private final Queue<Delivery> deliveries = new ConcurrentLinkedQueue<Delivery>();
+        /** Number of enqueued deliveries, the thread that increments it from zero schedules the lane. */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        void add(final Runnable delivery) {
+            deliveries.add(new Delivery(delivery, ticker.read()));
+            queueDepth.incrementAndGet();
+            if (pending.getAndIncrement() == 0) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            boolean hasMore = true;
+            while (hasMore) {
+                try {
+                    executor.execute(this);
+                    return;
+                }
+                catch (RejectedExecutionException exception) {
+                    // the executor is shut down or saturated: deliver in the calling thread to keep the order
+                    hasMore = deliverBatch();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            if (deliverBatch()) {
+                schedule();
+            }
+        }
+
+        /**
+         * Delivers the next batch of events. If a listener throws an {@link Error}, the lane is scheduled again before
+         * the error is propagated, so that the remaining events are still delivered.
+         *
+         * @return <code>true</code> if events are left that need to be scheduled again, <code>false</code> if the
+         *         queue is empty
+         */
+        private boolean deliverBatch() {
+            boolean hasMore = true;
+            boolean isCompleted = false;
+            try {
+                for (int delivered = 0; hasMore && delivered < BATCH_SIZE; delivered++) {
+                    Delivery delivery = deliveries.poll();
+                    try {
+                        queueDepth.decrementAndGet();
+                        recordLag(ticker.read() - delivery.firedAt);
+                        delivery.task.run();
+                    }
+                    catch (RuntimeException exception) {
+                        failedEvents.incrementAndGet();
+                        LOGGER.log(Level.WARNING, "Property change listener failed", exception);
+                    }
+                    finally {
+                        hasMore = pending.decrementAndGet() > 0;
+                    }
+                }
+                isCompleted = true;
+                return hasMore;
+            }
+            finally {
+                if (!isCompleted && hasMore) {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    /**
+     * A delivery together with the time the event has been fired.
+     */
+    private static final class Delivery {
+        private final Runnable task;
+        private final long firedAt;
+
+        Delivery(final Runnable task, final long firedAt) {
+            this.task = task;
+            this.firedAt = firedAt;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package edu.hm.hafner.util;
+
+/**
+ * Management interface of a {@link PropertyChangeDispatcher}.
+ *
+ * @author Ulli Hafner
+ */
+public interface PropertyChangeDispatcherMXBean {
+    /**
+     * Returns the number of events that have been fired but not yet delivered to the listeners.
+     *
+     * @return the number of pending events
+     */
+    long getQueueDepth();
+
+    /**
+     * Returns the number of events that have been delivered to the listeners since the last reset.
+     *
+     * @return the number of delivered events
+     */
+    long getDispatchedEventCount();
+
+    /**
+     * Returns the average time between firing an event and starting its delivery since the last reset.
+     *
+     * @return the average dispatch lag in microseconds
+     */
+    long getAverageDispatchLag();
+
+    /**
+     * Returns the maximum time between firing an event and starting its delivery since the last reset.
+     *
+     * @return the maximum dispatch lag in microseconds
+     */
+    long getMaximumDispatchLag();
+
+    /**
+     * Returns the number of events whose delivery has been aborted by an exception of a listener since the last
+     * reset.
+     *
+     * @return the number of failed events
+     */
+    long getFailedEventCount();
+
+    /**
+     * Resets the statistics. The queue depth is not affected.
+     */
+    void reset();
+}
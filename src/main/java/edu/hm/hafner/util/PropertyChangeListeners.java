@@ -0,0 +1,625 @@
+package edu.hm.hafner.util;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.collect.ObjectArrays;
+
+import edu.hm.hafner.util.PropertyChangeDispatcher.Queues;
+
+/**
+ * Immutable snapshot of the listeners of a {@link PropertyChangeAware} instance. Registering or removing a listener
+ * creates a new snapshot, so events are fired from a snapshot without locking or copying. The semantics are the same
+ * as the ones of {@link java.beans.PropertyChangeSupport}: listeners for all properties are notified before the
+ * listeners for a specific property, a listener that is added several times is notified several times, and removing
+ * a listener removes its first registration only.
+ * <p>
+ * Changes of primitive properties are reported to the {@link PrimitivePropertyChangeListener primitive listeners}
+ * first. A {@link PropertyChangeEvent} with boxed values is created afterwards only if a
+ * {@link PropertyChangeListener} is registered for the property.
+ * </p>
+ * <p>
+ * The listeners of a specific property are stored in a map by the name of the property. If a {@link PropertyKey} has
+ * been created for the property, the listeners are additionally stored in a small open addressing table that is
+ * hashed by the index of the key, so firing with a key needs neither a hash code nor an equals comparison of
+ * names. The table is sized by the number of registered properties, not by the number of keys in the VM.
+ * Registering a listener never creates a key. If no listener is registered at all, the snapshot is {@link #EMPTY},
+ * so callers can skip firing with a single reference comparison.
+ * </p>
+ * <p>
+ * If {@link Queues} are given, the listeners are notified asynchronously: the event is captured together with the
+ * current snapshot and delivered later by the {@link PropertyChangeDispatcher}.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+final class PropertyChangeListeners {
+    private static final Group[] NO_GROUPS = new Group[0];
+    private static final PropertyKey[] NO_KEYS = new PropertyKey[0];
+
+    /** Snapshot without any listeners. */
+    static final PropertyChangeListeners EMPTY = new PropertyChangeListeners(Group.NO_LISTENERS,
+            Collections.<String, Group>emptyMap(), NO_KEYS, NO_GROUPS, true);
+
+    private final Group global;
+    /** The listeners for specific properties by property name. */
+    private final Map<String, Group> named;
+    /** The keys of the properties in {@link #keyed}, the length is zero or a power of two with a free slot. */
+    private final PropertyKey[] keys;
+    /** The listeners for the properties that have a {@link PropertyKey}, in the same slot as the key. */
+    private final Group[] keyed;
+    /** Determines whether all listeners of {@link #named} are in {@link #keyed} as well. */
+    private final boolean isIndexed;
+
+    private PropertyChangeListeners(final Group global, final Map<String, Group> named, final PropertyKey[] keys,
+            final Group[] keyed, final boolean isIndexed) {
+        this.global = global;
+        this.named = named;
+        this.keys = keys;
+        this.keyed = keyed;
+        this.isIndexed = isIndexed;
+    }
+
+    private static PropertyChangeListeners create(final Group global, final Map<String, Group> named) {
+        if (global.isEmpty() && named.isEmpty()) {
+            return EMPTY;
+        }
+
+        PropertyKey[] keys = NO_KEYS;
+        Group[] keyed = NO_GROUPS;
+        boolean isIndexed = true;
+        for (Entry<String, Group> entry : named.entrySet()) {
+            PropertyKey key = PropertyKey.find(entry.getKey());
+            if (key == null) {
+                isIndexed = false;
+            }
+            else {
+                if (keys.length == 0) {
+                    keys = new PropertyKey[Integer.highestOneBit(named.size()) << 2];
+                    keyed = new Group[keys.length];
+                }
+                int slot = getSlot(keys, key);
+                keys[slot] = key;
+                keyed[slot] = entry.getValue();
+            }
+        }
+        return new PropertyChangeListeners(global, named, keys, keyed, isIndexed);
+    }
+
+    /**
+     * Returns the slot of the specified key in the specified table: either the slot that contains the key or the free
+     * slot where the key would be stored. Since each key has a unique index, the index is a collision free hash code.
+     *
+     * @param keys
+     *            the table of keys, the length must be a power of two and at least one slot must be free
+     * @param key
+     *            the key to look up
+     * @return the slot of the key
+     */
+    private static int getSlot(final PropertyKey[] keys, final PropertyKey key) {
+        int mask = keys.length - 1;
+        int slot = key.getIndex() & mask;
+        while (keys[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns a snapshot that additionally contains the specified listener. A {@link PropertyChangeListenerProxy}
+     * that is registered for all properties is registered for its property only.
+     *
+     * @param propertyName
+     *            the name of the property, or <code>null</code> to register the listener for all properties
+     * @param listener
+     *            the listener to add
+     * @return the new snapshot
+     */
+    PropertyChangeListeners add(@CheckForNull final String propertyName, final PropertyChangeListener listener) {
+        if (propertyName == null) {
+            if (listener instanceof PropertyChangeListenerProxy) {
+                PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy)listener;
+                return add(proxy.getPropertyName(), proxy.getListener());
+            }
+            return create(global.add(listener), named);
+        }
+        return withNamed(propertyName, getNamed(propertyName).add(unwrap(listener)));
+    }
+
+    /**
+     * Returns a snapshot that additionally contains the specified primitive listener.
+     *
+     * @param propertyName
+     *            the name of the property, or <code>null</code> to register the listener for all properties
+     * @param listener
+     *            the listener to add
+     * @return the new snapshot
+     */
+    PropertyChangeListeners add(@CheckForNull final String propertyName,
+            final PrimitivePropertyChangeListener listener) {
+        if (propertyName == null) {
+            return create(global.add(listener), named);
+        }
+        return withNamed(propertyName, getNamed(propertyName).add(listener));
+    }
+
+    /**
+     * Returns a snapshot without the first registration of the specified listener. A
+     * {@link PropertyChangeListenerProxy} that is removed from all properties is removed from its property only.
+     *
+     * @param propertyName
+     *            the name of the property, or <code>null</code> to remove the listener for all properties
+     * @param listener
+     *            the listener to remove
+     * @return the new snapshot, or this snapshot if the listener is not registered
+     */
+    PropertyChangeListeners remove(@CheckForNull final String propertyName, final PropertyChangeListener listener) {
+        if (propertyName == null) {
+            if (listener instanceof PropertyChangeListenerProxy) {
+                PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy)listener;
+                return remove(proxy.getPropertyName(), proxy.getListener());
+            }
+            return withGlobal(global.remove(listener));
+        }
+        return withNamed(propertyName, getNamed(propertyName).remove(unwrap(listener)));
+    }
+
+    /**
+     * Returns a snapshot without the first registration of the specified primitive listener.
+     *
+     * @param propertyName
+     *            the name of the property, or <code>null</code> to remove the listener for all properties
+     * @param listener
+     *            the listener to remove
+     * @return the new snapshot, or this snapshot if the listener is not registered
+     */
+    PropertyChangeListeners remove(@CheckForNull final String propertyName,
+            final PrimitivePropertyChangeListener listener) {
+        if (propertyName == null) {
+            return withGlobal(global.remove(listener));
+        }
+        return withNamed(propertyName, getNamed(propertyName).remove(listener));
+    }
+
+    private Group getNamed(final String propertyName) {
+        Group group = named.get(propertyName);
+        return group == null ? Group.NO_LISTENERS : group;
+    }
+
+    /**
+     * Returns the listeners for the specified property. The listeners are looked up by the key if possible, otherwise
+     * by the name of the property.
+     *
+     * @param propertyName
+     *            the name of the property, may be <code>null</code> if the name is not known
+     * @param key
+     *            the key of the property, or <code>null</code> to look up the listeners by the property name
+     * @return the listeners, or <code>null</code> if no listener is registered for the property
+     */
+    @CheckForNull
+    private Group getGroup(@CheckForNull final String propertyName, @CheckForNull final PropertyKey key) {
+        if (key != null) {
+            if (keys.length > 0) {
+                Group group = keyed[getSlot(keys, key)];
+                if (group != null) {
+                    return group;
+                }
+            }
+            if (isIndexed) {
+                return null;
+            }
+        }
+        if (propertyName == null || named.isEmpty()) {
+            return null;
+        }
+        return named.get(propertyName);
+    }
+
+    private PropertyChangeListeners withGlobal(final Group group) {
+        if (group == global) {
+            return this;
+        }
+        return create(group, named);
+    }
+
+    private PropertyChangeListeners withNamed(final String propertyName, final Group group) {
+        if (group == getNamed(propertyName)) {
+            return this;
+        }
+        Map<String, Group> copy = new HashMap<String, Group>(named);
+        if (group.isEmpty()) {
+            copy.remove(propertyName);
+        }
+        else {
+            copy.put(propertyName, group);
+        }
+        return create(global, copy);
+    }
+
+    /**
+     * Returns whether a listener would be notified about changes of the specified property.
+     *
+     * @param key
+     *            the key of the property
+     * @return <code>true</code> if there is at least one listener, <code>false</code> otherwise
+     */
+    boolean hasListeners(final PropertyKey key) {
+        return hasListeners(key.getName(), key);
+    }
+
+    private boolean hasListeners(@CheckForNull final String propertyName, @CheckForNull final PropertyKey key) {
+        return !global.isEmpty() || getGroup(propertyName, key) != null;
+    }
+
+    /**
+     * Notifies the {@link PropertyChangeListener property change listeners} about the specified event. No listener is
+     * notified if the old and new values of the event are equal and non-<code>null</code>.
+     *
+     * @param queues
+     *            the queues to deliver the event asynchronously, or <code>null</code> to notify the listeners in the
+     *            calling thread
+     * @param event
+     *            the event to fire
+     */
+    void fire(@CheckForNull final Queues queues, final PropertyChangeEvent event) {
+        Object oldValue = event.getOldValue();
+        Object newValue = event.getNewValue();
+        if (oldValue != null && newValue != null && oldValue.equals(newValue)) {
+            return;
+        }
+
+        String propertyName = event.getPropertyName();
+        if (queues != null) {
+            if (hasListeners(propertyName, null)) {
+                queues.dispatch(propertyName, new Runnable() {
+                    @Override
+                    public void run() {
+                        fire(null, event);
+                    }
+                });
+            }
+            return;
+        }
+        notifyListeners(getGroup(propertyName, null), event);
+    }
+
+    /**
+     * Notifies the {@link PropertyChangeListener property change listeners} about the change of a property. The event
+     * is created only if there is at least one listener for the property. No listener is notified if the old and new
+     * values are equal and non-<code>null</code>.
+     *
+     * @param queues
+     *            the queues to deliver the event asynchronously, or <code>null</code> to notify the listeners in the
+     *            calling thread
+     * @param source
+     *            the object on which the property has been changed
+     * @param propertyName
+     *            the name of the property
+     * @param key
+     *            the key of the property, or <code>null</code> to look up the listeners by the property name
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    void fire(@CheckForNull final Queues queues, final Object source, final String propertyName,
+            @CheckForNull final PropertyKey key, @CheckForNull final Object oldValue,
+            @CheckForNull final Object newValue) {
+        if (oldValue != null && newValue != null && oldValue.equals(newValue)) {
+            return;
+        }
+        if (queues != null) {
+            if (hasListeners(propertyName, key)) {
+                queues.dispatch(propertyName, new Runnable() {
+                    @Override
+                    public void run() {
+                        fire(null, source, propertyName, key, oldValue, newValue);
+                    }
+                });
+            }
+            return;
+        }
+        Group group = getGroup(propertyName, key);
+        if (hasPropertyChangeListeners(group)) {
+            notifyListeners(group, new PropertyChangeEvent(source, propertyName, oldValue, newValue));
+        }
+    }
+
+    private void notifyListeners(@CheckForNull final Group group, final PropertyChangeEvent event) {
+        for (PropertyChangeListener listener : global.listeners) {
+            listener.propertyChange(event);
+        }
+        if (group != null) {
+            for (PropertyChangeListener listener : group.listeners) {
+                listener.propertyChange(event);
+            }
+        }
+    }
+
+    private boolean hasPropertyChangeListeners(@CheckForNull final Group group) {
+        return global.listeners.length > 0 || group != null && group.listeners.length > 0;
+    }
+
+    /**
+     * Notifies the listeners about the change of an <code>int</code> property. The caller is responsible to skip
+     * unchanged values.
+     *
+     * @param queues
+     *            the queues to deliver the event asynchronously, or <code>null</code> to notify the listeners in the
+     *            calling thread
+     * @param source
+     *            the object on which the property has been changed
+     * @param propertyName
+     *            the name of the property
+     * @param key
+     *            the key of the property, or <code>null</code> to look up the listeners by the property name
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    void fire(@CheckForNull final Queues queues, final Object source, final String propertyName,
+            @CheckForNull final PropertyKey key, final int oldValue, final int newValue) {
+        if (queues != null) {
+            if (hasListeners(propertyName, key)) {
+                queues.dispatch(propertyName, new Runnable() {
+                    @Override
+                    public void run() {
+                        fire(null, source, propertyName, key, oldValue, newValue);
+                    }
+                });
+            }
+            return;
+        }
+        Group group = getGroup(propertyName, key);
+        for (IntPropertyChangeListener listener : global.intListeners) {
+            listener.propertyChange(source, propertyName, oldValue, newValue);
+        }
+        if (group != null) {
+            for (IntPropertyChangeListener listener : group.intListeners) {
+                listener.propertyChange(source, propertyName, oldValue, newValue);
+            }
+        }
+        if (hasPropertyChangeListeners(group)) {
+            notifyListeners(group, new PropertyChangeEvent(source, propertyName,
+                    Integer.valueOf(oldValue), Integer.valueOf(newValue)));
+        }
+    }
+
+    /**
+     * Notifies the listeners about the change of a <code>long</code> property. The caller is responsible to skip
+     * unchanged values.
+     *
+     * @param queues
+     *            the queues to deliver the event asynchronously, or <code>null</code> to notify the listeners in the
+     *            calling thread
+     * @param source
+     *            the object on which the property has been changed
+     * @param propertyName
+     *            the name of the property
+     * @param key
+     *            the key of the property, or <code>null</code> to look up the listeners by the property name
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    void fire(@CheckForNull final Queues queues, final Object source, final String propertyName,
+            @CheckForNull final PropertyKey key, final long oldValue, final long newValue) {
+        if (queues != null) {
+            if (hasListeners(propertyName, key)) {
+                queues.dispatch(propertyName, new Runnable() {
+                    @Override
+                    public void run() {
+                        fire(null, source, propertyName, key, oldValue, newValue);
+                    }
+                });
+            }
+            return;
+        }
+        Group group = getGroup(propertyName, key);
+        for (LongPropertyChangeListener listener : global.longListeners) {
+            listener.propertyChange(source, propertyName, oldValue, newValue);
+        }
+        if (group != null) {
+            for (LongPropertyChangeListener listener : group.longListeners) {
+                listener.propertyChange(source, propertyName, oldValue, newValue);
+            }
+        }
+        if (hasPropertyChangeListeners(group)) {
+            notifyListeners(group, new PropertyChangeEvent(source, propertyName,
+                    Long.valueOf(oldValue), Long.valueOf(newValue)));
+        }
+    }
+
+    /**
+     * Notifies the listeners about the change of a <code>double</code> property. The caller is responsible to skip
+     * unchanged values.
+     *
+     * @param queues
+     *            the queues to deliver the event asynchronously, or <code>null</code> to notify the listeners in the
+     *            calling thread
+     * @param source
+     *            the object on which the property has been changed
+     * @param propertyName
+     *            the name of the property
+     * @param key
+     *            the key of the property, or <code>null</code> to look up the listeners by the property name
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    void fire(@CheckForNull final Queues queues, final Object source, final String propertyName,
+            @CheckForNull final PropertyKey key, final double oldValue, final double newValue) {
+        if (queues != null) {
+            if (hasListeners(propertyName, key)) {
+                queues.dispatch(propertyName, new Runnable() {
+                    @Override
+                    public void run() {
+                        fire(null, source, propertyName, key, oldValue, newValue);
+                    }
+                });
+            }
+            return;
+        }
+        Group group = getGroup(propertyName, key);
+        for (DoublePropertyChangeListener listener : global.doubleListeners) {
+            listener.propertyChange(source, propertyName, oldValue, newValue);
+        }
+        if (group != null) {
+            for (DoublePropertyChangeListener listener : group.doubleListeners) {
+                listener.propertyChange(source, propertyName, oldValue, newValue);
+            }
+        }
+        if (hasPropertyChangeListeners(group)) {
+            notifyListeners(group, new PropertyChangeEvent(source, propertyName,
+                    Double.valueOf(oldValue), Double.valueOf(newValue)));
+        }
+    }
+
+    /**
+     * Notifies the listeners about the change of a <code>boolean</code> property. The caller is responsible to skip
+     * unchanged values.
+     *
+     * @param queues
+     *            the queues to deliver the event asynchronously, or <code>null</code> to notify the listeners in the
+     *            calling thread
+     * @param source
+     *            the object on which the property has been changed
+     * @param propertyName
+     *            the name of the property
+     * @param key
+     *            the key of the property, or <code>null</code> to look up the listeners by the property name
+     * @param oldValue
+     *            the old value of the property
+     * @param newValue
+     *            the new value of the property
+     */
+    void fire(@CheckForNull final Queues queues, final Object source, final String propertyName,
+            @CheckForNull final PropertyKey key, final boolean oldValue, final boolean newValue) {
+        if (queues != null) {
+            if (hasListeners(propertyName, key)) {
+                queues.dispatch(propertyName, new Runnable() {
+                    @Override
+                    public void run() {
+                        fire(null, source, propertyName, key, oldValue, newValue);
+                    }
+                });
+            }
+            return;
+        }
+        Group group = getGroup(propertyName, key);
+        for (BooleanPropertyChangeListener listener : global.booleanListeners) {
+            listener.propertyChange(source, propertyName, oldValue, newValue);
+        }
+        if (group != null) {
+            for (BooleanPropertyChangeListener listener : group.booleanListeners) {
+                listener.propertyChange(source, propertyName, oldValue, newValue);
+            }
+        }
+        if (hasPropertyChangeListeners(group)) {
+            notifyListeners(group, new PropertyChangeEvent(source, propertyName,
+                    Boolean.valueOf(oldValue), Boolean.valueOf(newValue)));
+        }
+    }
+
+    private static PropertyChangeListener unwrap(final PropertyChangeListener listener) {
+        PropertyChangeListener unwrapped = listener;
+        while (unwrapped instanceof PropertyChangeListenerProxy) {
+            unwrapped = ((PropertyChangeListenerProxy)unwrapped).getListener();
+        }
+        return unwrapped;
+    }
+
+    /**
+     * The listeners that are registered for all properties or for a specific property. The primitive listeners are
+     * additionally split by their type so that firing does not need to check the type of each listener.
+     */
+    private static final class Group {
+        static final Group NO_LISTENERS
+                = new Group(new PropertyChangeListener[0], new PrimitivePropertyChangeListener[0]);
+
+        final PropertyChangeListener[] listeners;
+        final PrimitivePropertyChangeListener[] primitives;
+        final IntPropertyChangeListener[] intListeners;
+        final LongPropertyChangeListener[] longListeners;
+        final DoublePropertyChangeListener[] doubleListeners;
+        final BooleanPropertyChangeListener[] booleanListeners;
+
+        Group(final PropertyChangeListener[] listeners, final PrimitivePropertyChangeListener[] primitives) {
+            this.listeners = listeners;
+            this.primitives = primitives;
+
+            intListeners = select(primitives, IntPropertyChangeListener.class);
+            longListeners = select(primitives, LongPropertyChangeListener.class);
+            doubleListeners = select(primitives, DoublePropertyChangeListener.class);
+            booleanListeners = select(primitives, BooleanPropertyChangeListener.class);
+        }
+
+        boolean isEmpty() {
+            return listeners.length == 0 && primitives.length == 0;
+        }
+
+        Group add(final PropertyChangeListener listener) {
+            return new Group(append(listeners, listener), primitives);
+        }
+
+        Group add(final PrimitivePropertyChangeListener listener) {
+            return new Group(listeners, append(primitives, listener));
+        }
+
+        Group remove(final PropertyChangeListener listener) {
+            PropertyChangeListener[] remaining = remove(listeners, listener);
+            if (remaining == listeners) {
+                return this;
+            }
+            return new Group(remaining, primitives);
+        }
+
+        Group remove(final PrimitivePropertyChangeListener listener) {
+            PrimitivePropertyChangeListener[] remaining = remove(primitives, listener);
+            if (remaining == primitives) {
+                return this;
+            }
+            return new Group(listeners, remaining);
+        }
+
+        private static <T> T[] select(final PrimitivePropertyChangeListener[] primitives, final Class<T> type) {
+            T[] selected = ObjectArrays.newArray(type, primitives.length);
+            int count = 0;
+            for (PrimitivePropertyChangeListener listener : primitives) {
+                if (type.isInstance(listener)) {
+                    selected[count++] = type.cast(listener);
+                }
+            }
+            return count == selected.length ? selected : Arrays.copyOf(selected, count);
+        }
+
+        private static <T> T[] append(final T[] array, final T element) {
+            T[] copy = Arrays.copyOf(array, array.length + 1);
+            copy[array.length] = element;
+            return copy;
+        }
+
+        private static <T> T[] remove(final T[] array, final T element) {
+            for (int i = 0; i < array.length; i++) {
+                if (element.equals(array[i])) {
+                    T[] copy = ObjectArrays.newArray(array, array.length - 1);
+                    System.arraycopy(array, 0, copy, 0, i);
+                    System.arraycopy(array, i + 1, copy, i, array.length - i - 1);
+                    return copy;
+                }
+            }
+            return array;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Interned name of a bound property. Each property name is mapped to exactly one key that has a unique index, so the
+ * listeners of a {@link PropertyChangeAware} instance are found by the index instead of a lookup by name. Keys
+ * are typically created once per property and stored in a constant:
+ *
+ * <blockquote><pre>
+ * private static final PropertyKey NAME = PropertyKey.of("name");
+ *
+ * public void setName(final String name) {
+ *     String oldName = this.name;
+ *     this.name = name;
+ *     firePropertyChangeEvent(NAME, oldName, name);
+ * }
+ * </pre></blockquote>
+ *
+ * Since keys are never released, they should be created for a fixed set of property names only. Registering a listener
+ * for a property name does not create a key.
+ *
+ * @author Ulli Hafner
+ */
+public final class PropertyKey {
+    private static final ConcurrentMap<String, PropertyKey> KEYS = new ConcurrentHashMap<String, PropertyKey>();
+    private static int nextIndex;
+
+    /**
+     * Returns the key of the specified property. The same instance is returned for equal names.
+     *
+     * @param propertyName
+     *            the name of the property
+     * @return the key of the property
+     */
+    public static PropertyKey of(final String propertyName) {
+        Requirements.requireNotNull(propertyName);
+
+        PropertyKey key = KEYS.get(propertyName);
+        if (key == null) {
+            return create(propertyName);
+        }
+        return key;
+    }
+
+    private static synchronized PropertyKey create(final String propertyName) {
+        PropertyKey key = KEYS.get(propertyName);
+        if (key == null) {
+            key = new PropertyKey(propertyName, nextIndex++);
+            KEYS.put(propertyName, key);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the key of the specified property if the key already has been created. In contrast to
+     * {@link #of(String)} no new key is created.
+     *
+     * @param propertyName
+     *            the name of the property
+     * @return the key of the property, or <code>null</code> if there is no such key
+     */
+    @CheckForNull
+    static PropertyKey find(final String propertyName) {
+        return KEYS.get(propertyName);
+    }
+
+    private final String name;
+    private final int index;
+
+    private PropertyKey(final String name, final int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * Returns the name of the property.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the unique index of this key.
+     *
+     * @return the index
+     */
+    int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,90 @@
+package edu.hm.hafner.util;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Checks the arguments of the classes of this package. Unlike the checks of {@link Ensure}, these checks are not
+ * affected by the {@link ContractLevel} and are not deferred by a {@link ValidationScope}: a failing check always
+ * throws an {@link AssertionFailedException}, since the classes of this package can't continue with invalid
+ * arguments. Failed checks are counted in the {@link AssertionFailureMetrics} like the checks of {@link Ensure}.
+ *
+ * @author Ulli Hafner
+ */
+final class Requirements {
+    private static final String NULL_MESSAGE = "Object is NULL";
+
+    /**
+     * Ensures that the specified value is not <code>null</code>.
+     *
+     * @param value
+     *            the value to check
+     * @throws AssertionFailedException
+     *             if the value is <code>null</code>
+     */
+    static void requireNotNull(@CheckForNull final Object value) {
+        if (value == null) {
+            AssertionFailureMetrics.recordFailure();
+            throw AssertionFailedException.withFixedMessage(NULL_MESSAGE);
+        }
+    }
+
+    /**
+     * Ensures that the specified values are not <code>null</code>.
+     *
+     * @param value
+     *            the first value to check
+     * @param second
+     *            the second value to check
+     * @throws AssertionFailedException
+     *             if one of the values is <code>null</code>
+     */
+    static void requireNotNull(@CheckForNull final Object value, @CheckForNull final Object second) {
+        if (value == null || second == null) {
+            AssertionFailureMetrics.recordFailure();
+            throw AssertionFailedException.withFixedMessage(NULL_MESSAGE);
+        }
+    }
+
+    /**
+     * Ensures that the specified values are not <code>null</code>.
+     *
+     * @param value
+     *            the first value to check
+     * @param second
+     *            the second value to check
+     * @param third
+     *            the third value to check
+     * @throws AssertionFailedException
+     *             if one of the values is <code>null</code>
+     */
+    static void requireNotNull(@CheckForNull final Object value, @CheckForNull final Object second,
+            @CheckForNull final Object third) {
+        if (value == null || second == null || third == null) {
+            AssertionFailureMetrics.recordFailure();
+            throw AssertionFailedException.withFixedMessage(NULL_MESSAGE);
+        }
+    }
+
+    /**
+     * Ensures that the specified condition is <code>true</code>.
+     *
+     * @param condition
+     *            the condition to check
+     * @param explanation
+     *            a {@link java.util.Formatter formatted message} explaining the requirement
+     * @param arg
+     *            the argument referenced by the format specifier in the formatted explanation
+     * @throws AssertionFailedException
+     *             if the condition is <code>false</code>
+     */
+    static void requireTrue(final boolean condition, final String explanation, @CheckForNull final Object arg) {
+        if (!condition) {
+            AssertionFailureMetrics.recordFailure();
+            throw new AssertionFailedException(String.format(explanation, arg));
+        }
+    }
+
+    private Requirements() {
+        // prevents instantiation
+    }
+}
@@ -1,16 +1,44 @@
 package edu.hm.hafner.util;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
 
 /**
- * Provides a simple access to the element of a singleton collection.
+ * Provides a simple access to the element of a singleton collection. Collections are checked with
+ * {@link Collection#size()} and random access lists are read with {@link List#get(int)}, only other iterables are
+ * iterated. The element that satisfies a predicate is searched with the {@code find} methods: these stop at the second
+ * match, so the matching elements are never materialized in an intermediate collection.
+ * <p>
+ * The contract of these methods is always enforced: neither the {@link ContractLevel} nor a {@link ValidationScope}
+ * affects them, so a method that returns an element never returns <code>null</code>.
+ * </p>
  *
  * @see Collections#singleton(Object)
  * @see Collections#singletonList(Object)
  * @author Ulli Hafner
  */
 public final class Singleton {
+    /** Marks an empty collection. */
+    static final Object NONE = new Object();
+    /** Marks a collection with more than one element. */
+    static final Object MULTIPLE = new Object();
+
+    private static final String EMPTY_MESSAGE = "Collection is empty.";
+    private static final String MULTIPLE_MESSAGE = "Collection contains more than one element.";
+    private static final String NO_MATCH_MESSAGE = "No element in collection satisfies the predicate.";
+    private static final String MULTIPLE_MATCHES_MESSAGE
+            = "More than one element in collection satisfies the predicate.";
+    private static final String NULL_MESSAGE = "Element in collection must be not NULL.";
+
     /**
      * Returns the element of the singleton collection.
      *
@@ -22,15 +50,251 @@ public final class Singleton {
      *             if the collection does not contain exactly one element
      */
     public static <T> T get(final Iterable<T> collection) {
-        Ensure.that(collection).isNotNull();
-        Iterator<T> iterator = collection.iterator();
-        Ensure.that(iterator.hasNext()).isTrue("Collection is empty.");
+        Requirements.requireNotNull(collection);
 
-        T element = iterator.next();
+        return toElement(getElement(collection));
+    }
 
-        Ensure.that(iterator.hasNext()).isFalse("Collection contains more than one element.");
-        Ensure.that(element).isNotNull("Element in collection must be not NULL.");
+    /**
+     * Returns the only element of the collection that satisfies the specified predicate. The search stops at the
+     * second matching element.
+     *
+     * @param collection
+     *            the collection to search
+     * @param predicate
+     *            the predicate the element must satisfy
+     * @return the only matching element
+     * @param <T> the type of the elements
+     * @throws AssertionFailedException
+     *             if not exactly one element satisfies the predicate or if the matching element is <code>null</code>
+     */
+    public static <T> T find(final Iterable<T> collection, final Predicate<? super T> predicate) {
+        Requirements.requireNotNull(collection, predicate);
+
+        SingletonCollector<T> collector = collector();
+        if (collection instanceof List && collection instanceof RandomAccess) {
+            List<T> list = (List<T>)collection;
+            int size = list.size();
+            for (int i = 0; i < size; i++) {
+                T element = list.get(i);
+                if (predicate.apply(element) && !collector.accept(element)) {
+                    break;
+                }
+            }
+        }
+        else {
+            for (T element : collection) {
+                if (predicate.apply(element) && !collector.accept(element)) {
+                    break;
+                }
+            }
+        }
+        return toMatch(collector);
+    }
+
+    /**
+     * Returns the only element of the array that satisfies the specified predicate. The search stops at the second
+     * matching element.
+     *
+     * @param array
+     *            the array to search
+     * @param predicate
+     *            the predicate the element must satisfy
+     * @return the only matching element
+     * @param <T> the type of the elements
+     * @throws AssertionFailedException
+     *             if not exactly one element satisfies the predicate or if the matching element is <code>null</code>
+     */
+    public static <T> T find(final T[] array, final Predicate<? super T> predicate) {
+        Requirements.requireNotNull(array, predicate);
+
+        SingletonCollector<T> collector = collector();
+        for (T element : array) {
+            if (predicate.apply(element) && !collector.accept(element)) {
+                break;
+            }
+        }
+        return toMatch(collector);
+    }
+
+    /**
+     * Returns the only element of the list that satisfies the specified predicate. The list is searched in parallel
+     * using the shared {@link ForkJoinPool} of this package, the remaining work is cancelled as soon as a second
+     * matching element has been found. Lists that are not {@link RandomAccess} lists or that have at most
+     * {@value ParallelNullScan#DEFAULT_THRESHOLD} elements are searched by the calling thread.
+     *
+     * @param list
+     *            the list to search
+     * @param predicate
+     *            the predicate the element must satisfy, must be thread safe
+     * @return the only matching element
+     * @param <T> the type of the elements
+     * @throws AssertionFailedException
+     *             if not exactly one element satisfies the predicate or if the matching element is <code>null</code>
+     */
+    public static <T> T findInParallel(final List<T> list, final Predicate<? super T> predicate) {
+        return findInParallel(ForkJoinPools.getSharedPool(), list, predicate, ParallelNullScan.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns the only element of the list that satisfies the specified predicate. The list is searched in parallel
+     * using the specified {@link ForkJoinPool}, the remaining work is cancelled as soon as a second matching element
+     * has been found. Lists that are not {@link RandomAccess} lists or that are not larger than the segment size are
+     * searched by the calling thread.
+     *
+     * @param forkJoinPool
+     *            the pool to run the search in
+     * @param list
+     *            the list to search
+     * @param predicate
+     *            the predicate the element must satisfy, must be thread safe
+     * @param segmentSize
+     *            the maximum number of elements a single task searches sequentially, must be positive
+     * @return the only matching element
+     * @param <T> the type of the elements
+     * @throws AssertionFailedException
+     *             if not exactly one element satisfies the predicate or if the matching element is <code>null</code>
+     */
+    public static <T> T findInParallel(final ForkJoinPool forkJoinPool, final List<T> list,
+            final Predicate<? super T> predicate, final int segmentSize) {
+        Requirements.requireNotNull(forkJoinPool, list, predicate);
+        Requirements.requireTrue(segmentSize > 0, "Segment size must be positive: %d", segmentSize);
+        if (!(list instanceof RandomAccess) || list.size() <= segmentSize) {
+            return find(list, predicate);
+        }
+
+        SingletonCollector<T> collector = collector();
+        forkJoinPool.invoke(new ParallelSingletonSearch<T>(list, 0, list.size(), segmentSize, predicate, collector));
+        return toMatch(collector);
+    }
+
+    /**
+     * Creates a new collector that determines the element of a singleton sequence whose elements are pushed one by
+     * one. The collector stops accepting elements as soon as a second one has been seen.
+     *
+     * @return the collector
+     * @param <T> the type of the elements
+     * @see SingletonCollector
+     */
+    public static <T> SingletonCollector<T> collector() {
+        return new SingletonCollector<T>();
+    }
 
+    /**
+     * Ensures that the specified result of a singleton search is a single non-<code>null</code> element.
+     *
+     * @param element
+     *            the element or one of the markers {@link #NONE} and {@link #MULTIPLE}
+     * @return the element
+     * @param <T> the type of the element
+     * @throws AssertionFailedException
+     *             if the element is a marker or <code>null</code>
+     */
+    static <T> T toElement(@CheckForNull final Object element) {
+        return toElement(element, EMPTY_MESSAGE, MULTIPLE_MESSAGE);
+    }
+
+    private static <T> T toMatch(final SingletonCollector<T> collector) {
+        return toElement(collector.getResult(), NO_MATCH_MESSAGE, MULTIPLE_MATCHES_MESSAGE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T toElement(@CheckForNull final Object element, final String emptyMessage,
+            final String multipleMessage) {
+        if (element == NONE) {
+            AssertionFailureMetrics.recordFailure();
+            throw AssertionFailedException.withFixedMessage(emptyMessage);
+        }
+        if (element == MULTIPLE) {
+            AssertionFailureMetrics.recordFailure();
+            throw AssertionFailedException.withFixedMessage(multipleMessage);
+        }
+        if (element == null) {
+            AssertionFailureMetrics.recordFailure();
+            throw AssertionFailedException.withFixedMessage(NULL_MESSAGE);
+        }
+        return (T)element;
+    }
+
+    /**
+     * Returns whether the specified result of a singleton search is one of the markers {@link #NONE} and
+     * {@link #MULTIPLE}.
+     *
+     * @param element
+     *            the element to check
+     * @return <code>true</code> if the element is a marker, <code>false</code> if it is an actual element
+     */
+    static boolean isMarker(@CheckForNull final Object element) {
+        return element == NONE || element == MULTIPLE;
+    }
+
+    /**
+     * Returns the element of the singleton collection. If the collection is <code>null</code> or does not contain
+     * exactly one element then <code>null</code> is returned. In contrast to {@link #get(Iterable)} no exception is
+     * thrown, so this method is suitable for lookups where zero or multiple results are expected.
+     *
+     * @param collection
+     *            the collection to get the element from
+     * @return the element of the singleton collection, or <code>null</code> if there is no single element
+     * @param <T> the type of the element
+     */
+    @CheckForNull
+    @SuppressWarnings("unchecked")
+    public static <T> T getOrNull(@CheckForNull final Iterable<T> collection) {
+        if (collection == null) {
+            return null;
+        }
+        Object element = getElement(collection);
+        if (isMarker(element)) {
+            return null;
+        }
+        return (T)element;
+    }
+
+    /**
+     * Returns the element of the singleton collection. If the collection is <code>null</code> or does not contain
+     * exactly one non-<code>null</code> element then an absent value is returned. In contrast to
+     * {@link #get(Iterable)} no exception is thrown, so this method is suitable for lookups where zero or multiple
+     * results are expected.
+     *
+     * @param collection
+     *            the collection to get the element from
+     * @return the element of the singleton collection, or an absent value if there is no single element
+     * @param <T> the type of the element
+     */
+    public static <T> Optional<T> getOptional(@CheckForNull final Iterable<T> collection) {
+        return Optional.fromNullable(Singleton.<T>getOrNull(collection));
+    }
+
+    /**
+     * Returns the single element of the specified collection.
+     *
+     * @param collection
+     *            the collection to get the element from
+     * @return the element, or one of the markers {@link #NONE} and {@link #MULTIPLE}
+     */
+    private static Object getElement(final Iterable<?> collection) {
+        if (collection instanceof Collection) {
+            int size = ((Collection<?>)collection).size();
+            if (size == 0) {
+                return NONE;
+            }
+            if (size > 1) {
+                return MULTIPLE;
+            }
+            if (collection instanceof List && collection instanceof RandomAccess) {
+                return ((List<?>)collection).get(0);
+            }
+        }
+
+        Iterator<?> iterator = collection.iterator();
+        if (!iterator.hasNext()) {
+            return NONE;
+        }
+        Object element = iterator.next();
+        if (iterator.hasNext()) {
+            return MULTIPLE;
+        }
         return element;
     }
 
@@ -38,4 +302,3 @@ public final class Singleton {
         // prevents instantiation
     }
 }
-
@@ -0,0 +1,176 @@
+package edu.hm.hafner.util;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Optional;
+
+/**
+ * Determines the element of a singleton sequence whose elements are pushed one by one, e.g. by a producer that
+ * iterates over a large result set. The collector never holds more than one element: as soon as a second element
+ * has been accepted the result is fixed and {@link #accept(Object)} returns <code>false</code> so that the producer
+ * can stop.
+ * <p>
+ * The collector is thread safe: several threads may push elements concurrently, its state is updated by
+ * compare-and-set operations without locking. Partial results of parallel producers can be merged with
+ * {@link #combine(SingletonCollector)}.
+ * </p>
+ * Example:
+ *
+ * <blockquote><pre>
+ * SingletonCollector&lt;Row&gt; collector = Singleton.collector();
+ * while (cursor.hasNext() &amp;&amp; collector.accept(cursor.next())) {
+ *     // continue until the second row
+ * }
+ * Row row = collector.get();
+ * </pre></blockquote>
+ *
+ * @param <T> the type of the elements
+ * @see Singleton#collector()
+ * @author Ulli Hafner
+ */
+public final class SingletonCollector<T> {
+    /** Marks an accepted <code>null</code> element. */
+    private static final Object NULL_ELEMENT = new Object();
+
+    private final AtomicReference<Object> state = new AtomicReference<Object>(Singleton.NONE);
+
+    /**
+     * Creates a new instance of {@link SingletonCollector}.
+     *
+     * @see Singleton#collector()
+     */
+    SingletonCollector() {
+        // use factory method
+    }
+
+    /**
+     * Accepts the next element of the sequence.
+     *
+     * @param element
+     *            the element to accept
+     * @return <code>true</code> if the collector accepts more elements, <code>false</code> if the sequence contains
+     *         more than one element so that the producer can stop
+     */
+    public boolean accept(@CheckForNull final T element) {
+        return add(element == null ? NULL_ELEMENT : element);
+    }
+
+    /**
+     * Accepts the elements of the specified iterator until a second element has been seen. The remaining elements
+     * are not visited.
+     *
+     * @param elements
+     *            the elements to accept
+     * @return <code>true</code> if the collector accepts more elements, <code>false</code> if the sequence contains
+     *         more than one element
+     */
+    public boolean acceptAll(final Iterator<? extends T> elements) {
+        while (elements.hasNext()) {
+            if (!accept(elements.next())) {
+                return false;
+            }
+        }
+        return !isMultiple();
+    }
+
+    /**
+     * Accepts the elements of the specified iterable until a second element has been seen. The remaining elements
+     * are not visited.
+     *
+     * @param elements
+     *            the elements to accept
+     * @return <code>true</code> if the collector accepts more elements, <code>false</code> if the sequence contains
+     *         more than one element
+     */
+    public boolean acceptAll(final Iterable<? extends T> elements) {
+        return acceptAll(elements.iterator());
+    }
+
+    /**
+     * Merges the partial result of another collector into this collector. The other collector is not changed.
+     *
+     * @param other
+     *            the collector to merge
+     * @return this collector
+     */
+    public SingletonCollector<T> combine(final SingletonCollector<? extends T> other) {
+        Object element = other.state.get();
+        if (element != Singleton.NONE) {
+            add(element);
+        }
+        return this;
+    }
+
+    private boolean add(final Object element) {
+        while (true) {
+            Object current = state.get();
+            if (current == Singleton.MULTIPLE) {
+                return false;
+            }
+            Object next = current == Singleton.NONE ? element : Singleton.MULTIPLE;
+            if (state.compareAndSet(current, next)) {
+                return next != Singleton.MULTIPLE;
+            }
+        }
+    }
+
+    /**
+     * Returns whether more than one element has been accepted.
+     *
+     * @return <code>true</code> if more than one element has been accepted, <code>false</code> otherwise
+     */
+    public boolean isMultiple() {
+        return state.get() == Singleton.MULTIPLE;
+    }
+
+    /**
+     * Returns the single element that has been accepted.
+     *
+     * @return the element
+     * @throws AssertionFailedException
+     *             if not exactly one element has been accepted or if the element is <code>null</code>
+     */
+    public T get() {
+        return Singleton.<T>toElement(getResult());
+    }
+
+    /**
+     * Returns the single element that has been accepted. If not exactly one element has been accepted then
+     * <code>null</code> is returned.
+     *
+     * @return the element, or <code>null</code> if there is no single element
+     */
+    @CheckForNull
+    @SuppressWarnings("unchecked")
+    public T getOrNull() {
+        Object element = getResult();
+        if (Singleton.isMarker(element)) {
+            return null;
+        }
+        return (T)element;
+    }
+
+    /**
+     * Returns the single element that has been accepted. If not exactly one non-<code>null</code> element has been
+     * accepted then an absent value is returned.
+     *
+     * @return the element, or an absent value if there is no single element
+     */
+    public Optional<T> getOptional() {
+        return Optional.fromNullable(getOrNull());
+    }
+
+    /**
+     * Returns the result of this collector.
+     *
+     * @return the accepted element or one of the markers {@link Singleton#NONE} and {@link Singleton#MULTIPLE}
+     */
+    @CheckForNull
+    Object getResult() {
+        Object element = state.get();
+        return element == NULL_ELEMENT ? null : element;
+    }
+}
@@ -0,0 +1,523 @@
+package edu.hm.hafner.util;
+
+import static edu.hm.hafner.util.Ensure.CHEAP_CHECKS;
+import static edu.hm.hafner.util.Ensure.FULL_CHECKS;
+import static edu.hm.hafner.util.Ensure.NO_ARGS;
+import static edu.hm.hafner.util.Ensure.throwException;
+
+import java.util.Formatter;
+import java.util.regex.Pattern;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+
+/**
+ * Assertions for strings.
+ *
+ * @author Ulli Hafner
+ */
+public class StringCondition extends ObjectCondition {
+    private final String value;
+
+    /**
+     * Creates a new instance of {@link StringCondition}.
+     *
+     * @param value
+     *            value of the condition
+     */
+    public StringCondition(@CheckForNull final String value) {
+        super(value);
+
+        this.value = value;
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and contains
+     * at least one character.
+     *
+     * @throws AssertionFailedException
+     *             if the string is empty (or <code>null</code>)
+     */
+    public void isNotEmpty() {
+        isNotEmpty("The string is empty or NULL", NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and contains
+     * at least one character.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the string is empty (or <code>null</code>)
+     */
+    public void isNotEmpty(final String explanation, final Object... args) {
+        if (CHEAP_CHECKS && (value == null || value.length() == 0)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and contains
+     * at least one character.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the string is empty (or <code>null</code>)
+     */
+    public void isNotEmpty(final Supplier<String> message) {
+        if (CHEAP_CHECKS && (value == null || value.length() == 0)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and contains
+     * at least one non-whitespace character.
+     *
+     * @throws AssertionFailedException
+     *             if the string is empty (or <code>null</code>)
+     */
+    public void isNotBlank() {
+        isNotBlank("The string is blank", NO_ARGS);
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and contains
+     * at least one non-whitespace character.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the string is empty (or <code>null</code>)
+     */
+    public void isNotBlank(final String explanation, final Object... args) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && isBlank()) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and contains
+     * at least one non-whitespace character.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the string is empty (or <code>null</code>)
+     */
+    public void isNotBlank(final Supplier<String> message) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && isBlank()) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * has a length within the specified range.
+     *
+     * @param minimum
+     *            the minimum length (inclusive)
+     * @param maximum
+     *            the maximum length (inclusive)
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or the length is out of range
+     */
+    public void hasLengthBetween(final int minimum, final int maximum) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && (value.length() < minimum || value.length() > maximum)) {
+            throwException("The string length is not between %d and %d: %d",
+                    minimum, maximum, value.length());
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * has a length within the specified range.
+     *
+     * @param minimum
+     *            the minimum length (inclusive)
+     * @param maximum
+     *            the maximum length (inclusive)
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or the length is out of range
+     */
+    public void hasLengthBetween(final int minimum, final int maximum, final String explanation,
+            final Object... args) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && (value.length() < minimum || value.length() > maximum)) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * has a length within the specified range.
+     *
+     * @param minimum
+     *            the minimum length (inclusive)
+     * @param maximum
+     *            the maximum length (inclusive)
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or the length is out of range
+     */
+    public void hasLengthBetween(final int minimum, final int maximum, final Supplier<String> message) {
+        isNotNull();
+
+        if (CHEAP_CHECKS && value != null && (value.length() < minimum || value.length() > maximum)) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * contains only ASCII characters.
+     *
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or contains a non-ASCII character
+     */
+    public void isAscii() {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null) {
+            int index = Characters.indexOfNonAscii(value);
+            if (index >= 0) {
+                throwException("The string contains a non-ASCII character at index %d", index);
+            }
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * contains only ASCII characters.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or contains a non-ASCII character
+     */
+    public void isAscii(final String explanation, final Object... args) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Characters.indexOfNonAscii(value) >= 0) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * contains only ASCII characters.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or contains a non-ASCII character
+     */
+    public void isAscii(final Supplier<String> message) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Characters.indexOfNonAscii(value) >= 0) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * consists of the ASCII digits <code>0-9</code> only,
+     * i.e. it is not empty and contains no other character.
+     *
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or contains a character that is not a digit
+     */
+    public void isDigitsOnly() {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null) {
+            int index = Characters.indexOfNonDigit(value);
+            if (index >= 0) {
+                throwException("The string is empty or contains a non-digit at index %d", index);
+            }
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * consists of the ASCII digits <code>0-9</code> only,
+     * i.e. it is not empty and contains no other character.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or contains a character that is not a digit
+     */
+    public void isDigitsOnly(final String explanation, final Object... args) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Characters.indexOfNonDigit(value) >= 0) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * consists of the ASCII digits <code>0-9</code> only,
+     * i.e. it is not empty and contains no other character.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or contains a character that is not a digit
+     */
+    public void isDigitsOnly(final Supplier<String> message) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Characters.indexOfNonDigit(value) >= 0) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * contains no {@link Character#isISOControl(char) control
+     * characters}.
+     *
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or contains a control character
+     */
+    public void containsNoControlCharacters() {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null) {
+            int index = Characters.indexOfControlCharacter(value);
+            if (index >= 0) {
+                throwException("The string contains a control character at index %d", index);
+            }
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * contains no {@link Character#isISOControl(char) control
+     * characters}.
+     *
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or contains a control character
+     */
+    public void containsNoControlCharacters(final String explanation, final Object... args) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Characters.indexOfControlCharacter(value) >= 0) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and
+     * contains no {@link Character#isISOControl(char) control
+     * characters}.
+     *
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or contains a control character
+     */
+    public void containsNoControlCharacters(final Supplier<String> message) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && Characters.indexOfControlCharacter(value) >= 0) {
+            throwException(message);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and matches
+     * the specified regular expression. The compiled pattern is taken
+     * from the {@link PatternCache}.
+     *
+     * @param regex
+     *            the regular expression to match
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or does not match
+     */
+    public void matches(final String regex) {
+        if (FULL_CHECKS) {
+            matches(PatternCache.compile(regex));
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and matches
+     * the specified regular expression. The compiled pattern is taken
+     * from the {@link PatternCache}.
+     *
+     * @param regex
+     *            the regular expression to match
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or does not match
+     */
+    public void matches(final String regex, final String explanation, final Object... args) {
+        if (FULL_CHECKS) {
+            matches(PatternCache.compile(regex), explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and matches
+     * the specified regular expression. The compiled pattern is taken
+     * from the {@link PatternCache}.
+     *
+     * @param regex
+     *            the regular expression to match
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or does not match
+     */
+    public void matches(final String regex, final Supplier<String> message) {
+        if (FULL_CHECKS) {
+            matches(PatternCache.compile(regex), message);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and matches
+     * the specified pattern.
+     *
+     * @param pattern
+     *            the pattern to match
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or does not match
+     */
+    public void matches(final Pattern pattern) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && !pattern.matcher(value).matches()) {
+            throwException("The string does not match the pattern %s: %s", pattern, value);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and matches
+     * the specified pattern.
+     *
+     * @param pattern
+     *            the pattern to match
+     * @param explanation
+     *            a {@link Formatter formatted message} explaining the
+     *            assertion
+     * @param args
+     *            Arguments referenced by the format specifiers in the
+     *            formatted explanation. If there are more arguments than format
+     *            specifiers, the extra arguments are ignored. The number of
+     *            arguments is variable and may be zero.
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or does not match
+     */
+    public void matches(final Pattern pattern, final String explanation, final Object... args) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && !pattern.matcher(value).matches()) {
+            throwException(explanation, args);
+        }
+    }
+
+    /**
+     * Ensures that the given string is not <code>null</code> and matches
+     * the specified pattern.
+     *
+     * @param pattern
+     *            the pattern to match
+     * @param message
+     *            supplies the message explaining the assertion, the
+     *            supplier is invoked only if the assertion fails
+     * @throws AssertionFailedException
+     *             if the string is <code>null</code> or does not match
+     */
+    public void matches(final Pattern pattern, final Supplier<String> message) {
+        isNotNull();
+
+        if (FULL_CHECKS && value != null && !pattern.matcher(value).matches()) {
+            throwException(message);
+        }
+    }
+
+    private boolean isBlank() {
+        if (value.length() == 0) {
+            return true;
+        }
+        if (!FULL_CHECKS) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Characters.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
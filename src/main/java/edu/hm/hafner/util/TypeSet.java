@@ -0,0 +1,82 @@
+package edu.hm.hafner.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.collect.Lists;
+
+/**
+ * A precompiled set of types for instance checks. Whether a runtime class is a subtype of one of the types is
+ * computed once per class and then cached in a {@link ClassValue}, so a repeated check of an instance of the same
+ * class is a single lookup that does not allocate any memory. Since the cache is bound to the type set, a type set
+ * should be created once and stored in a constant:
+ *
+ * <pre>
+ * private static final TypeSet MESSAGES = TypeSet.of(Request.class, Response.class);
+ * ...
+ * Ensure.that(message).isInstanceOf(MESSAGES);
+ * </pre>
+ *
+ * @author Ulli Hafner
+ */
+public final class TypeSet {
+    /**
+     * Creates a new type set.
+     *
+     * @param type
+     *            the first type of the set
+     * @param additionalTypes
+     *            the additional types of the set
+     * @return the type set
+     */
+    public static TypeSet of(final Class<?> type, final Class<?>... additionalTypes) {
+        return new TypeSet(Lists.asList(type, additionalTypes));
+    }
+
+    private final Class<?>[] types;
+    private final ClassValue<Boolean> isSubtype = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> runtimeClass) {
+            for (Class<?> type : types) {
+                if (type.isAssignableFrom(runtimeClass)) {
+                    return Boolean.TRUE;
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
+
+    private TypeSet(final List<Class<?>> types) {
+        this.types = types.toArray(new Class<?>[types.size()]);
+    }
+
+    /**
+     * Returns whether the specified object is an instance of one of the types of this set.
+     *
+     * @param value
+     *            the object to check
+     * @return <code>true</code> if the object is an instance of one of the types, <code>false</code> if not or if the
+     *         object is <code>null</code>
+     */
+    public boolean isInstance(@CheckForNull final Object value) {
+        return value != null && isSubtype.get(value.getClass());
+    }
+
+    /**
+     * Returns whether the specified class is a subtype of one of the types of this set.
+     *
+     * @param runtimeClass
+     *            the class to check
+     * @return <code>true</code> if the class is a subtype of one of the types, <code>false</code> otherwise
+     */
+    public boolean isAssignableFrom(final Class<?> runtimeClass) {
+        return isSubtype.get(runtimeClass);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(types);
+    }
+}
@@ -0,0 +1,165 @@
+package edu.hm.hafner.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Allocation free scans of UTF-8 encoded bytes. The bytes between position and limit of a {@link ByteBuffer} are read
+ * with absolute get operations, so neither the position of the buffer is changed nor are the bytes copied. This works
+ * for heap, direct and memory mapped buffers.
+ *
+ * @author Ulli Hafner
+ */
+final class Utf8 {
+    private static final int CONTINUATION_MASK = 0xC0;
+    private static final int CONTINUATION = 0x80;
+
+    /**
+     * Returns the index of the first byte of the remaining bytes that is not an ASCII character.
+     *
+     * @param buffer
+     *            the buffer to scan
+     * @return the absolute index of the byte, or -1 if all bytes are ASCII characters
+     */
+    static int indexOfNonAscii(final ByteBuffer buffer) {
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            if (buffer.get(i) < 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first byte of the remaining bytes that starts an invalid UTF-8 sequence. Overlong
+     * encodings, surrogates and code points above <code>U+10FFFF</code> are invalid.
+     *
+     * @param buffer
+     *            the buffer to scan
+     * @return the absolute index of the byte, or -1 if the remaining bytes are valid UTF-8
+     */
+    static int indexOfInvalidSequence(final ByteBuffer buffer) {
+        int limit = buffer.limit();
+        int i = buffer.position();
+        while (i < limit) {
+            if (buffer.get(i) >= 0) {
+                i++;
+            }
+            else {
+                int length = getSequenceLength(buffer, i, limit);
+                if (length < 0) {
+                    return i;
+                }
+                i += length;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether the remaining bytes contain only {@link Character#isWhitespace(int) whitespace} characters.
+     * Invalid UTF-8 sequences are not considered as whitespace.
+     *
+     * @param buffer
+     *            the buffer to scan
+     * @return <code>true</code> if the buffer is empty or contains whitespace only, <code>false</code> otherwise
+     */
+    static boolean isBlank(final ByteBuffer buffer) {
+        int limit = buffer.limit();
+        int i = buffer.position();
+        while (i < limit) {
+            byte first = buffer.get(i);
+            if (first >= 0) {
+                if (!Characters.isWhitespace((char)first)) {
+                    return false;
+                }
+                i++;
+            }
+            else {
+                int length = getSequenceLength(buffer, i, limit);
+                if (length < 0 || !Character.isWhitespace(getCodePoint(buffer, i, length))) {
+                    return false;
+                }
+                i += length;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the length of the multi byte sequence that starts at the specified index.
+     *
+     * @param buffer
+     *            the buffer to read
+     * @param index
+     *            the index of the first byte of the sequence
+     * @param limit
+     *            the index after the last byte that may be read
+     * @return the length of the sequence (2 to 4), or -1 if the sequence is invalid
+     */
+    private static int getSequenceLength(final ByteBuffer buffer, final int index, final int limit) {
+        int first = buffer.get(index) & 0xFF;
+        int length;
+        int minimum = CONTINUATION;
+        int maximum = 0xBF;
+        if (first >= 0xC2 && first <= 0xDF) {
+            length = 2;
+        }
+        else if (first >= 0xE0 && first <= 0xEF) {
+            length = 3;
+            if (first == 0xE0) {
+                minimum = 0xA0; // overlong
+            }
+            else if (first == 0xED) {
+                maximum = 0x9F; // surrogates
+            }
+        }
+        else if (first >= 0xF0 && first <= 0xF4) {
+            length = 4;
+            if (first == 0xF0) {
+                minimum = 0x90; // overlong
+            }
+            else if (first == 0xF4) {
+                maximum = 0x8F; // above U+10FFFF
+            }
+        }
+        else {
+            return -1;
+        }
+        if (limit - index < length) {
+            return -1;
+        }
+        int second = buffer.get(index + 1) & 0xFF;
+        if (second < minimum || second > maximum) {
+            return -1;
+        }
+        for (int i = index + 2; i < index + length; i++) {
+            if ((buffer.get(i) & CONTINUATION_MASK) != CONTINUATION) {
+                return -1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Returns the code point of the valid multi byte sequence that starts at the specified index.
+     *
+     * @param buffer
+     *            the buffer to read
+     * @param index
+     *            the index of the first byte of the sequence
+     * @param length
+     *            the length of the sequence
+     * @return the code point
+     */
+    private static int getCodePoint(final ByteBuffer buffer, final int index, final int length) {
+        int codePoint = buffer.get(index) & (0xFF >>> (length + 1));
+        for (int i = index + 1; i < index + length; i++) {
+            codePoint = codePoint << 6 | buffer.get(i) & 0x3F;
+        }
+        return codePoint;
+    }
+
+    private Utf8() {
+        // prevents instantiation
+    }
+}
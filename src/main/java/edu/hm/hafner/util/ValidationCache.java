@@ -0,0 +1,65 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.MapMaker;
+
+/**
+ * Opt-in cache of immutable arrays and iterables that already passed the element checks of {@link Ensure}. An
+ * instance needs to be {@link #registerImmutable(Object) registered} before it is cached: after the first successful
+ * {@link IterableCondition#isNotEmpty()} or {@link ArrayCondition#isNotEmpty()} check, all subsequent
+ * checks of the same instance return immediately. Instances are compared by identity and are referenced weakly, so
+ * registering an instance does not prevent it from being garbage collected.
+ * <p>
+ * Only register instances that are never modified after registration: modifications are not detected.
+ * </p>
+ *
+ * @author Ulli Hafner
+ */
+public final class ValidationCache {
+    /** Maps registered instances to their validation state. Uses identity comparison since the keys are weak. */
+    private static final ConcurrentMap<Object, Boolean> INSTANCES = new MapMaker().weakKeys().makeMap();
+    /** Set on the first registration, so checks skip the lookup as long as the cache is not used. */
+    private static volatile boolean isUsed;
+
+    /**
+     * Registers the specified instance as immutable. The caller guarantees that neither the instance nor its
+     * elements are replaced after the registration.
+     *
+     * @param instance
+     *            the immutable array or iterable
+     */
+    public static void registerImmutable(final Object instance) {
+        Requirements.requireNotNull(instance);
+
+        INSTANCES.putIfAbsent(instance, Boolean.FALSE);
+        isUsed = true;
+    }
+
+    /**
+     * Returns whether the specified instance is registered and has already been validated.
+     *
+     * @param instance
+     *            the instance to look up
+     * @return <code>true</code> if the instance has already been validated, <code>false</code> otherwise
+     */
+    static boolean isValidated(final Object instance) {
+        return isUsed && INSTANCES.get(instance) == Boolean.TRUE;
+    }
+
+    /**
+     * Marks the specified instance as validated if it has been registered before.
+     *
+     * @param instance
+     *            the instance that passed all element checks
+     */
+    static void markValidated(final Object instance) {
+        if (isUsed) {
+            INSTANCES.replace(instance, Boolean.FALSE, Boolean.TRUE);
+        }
+    }
+
+    private ValidationCache() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,131 @@
+package edu.hm.hafner.util;
+
+import java.util.Arrays;
+import java.util.Formatter;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.Lists;
+
+/**
+ * Records all violations of the checks of the current thread and throws them at once when being closed. The
+ * violations are stored unformatted, i.e. as message and argument references, and are formatted only when the scope
+ * is closed. A scope without violations allocates no additional memory.
+ *
+ * @see Ensure#validateAll()
+ * @author Ulli Hafner
+ */
+public final class ValidationScope implements AutoCloseable {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final Object[] NO_MESSAGES = new Object[0];
+
+    /** The innermost validation scope of each thread. Only read if a check fails. */
+    private static final ThreadLocal<ValidationScope> CURRENT_SCOPE = new ThreadLocal<ValidationScope>();
+
+    /**
+     * Starts a new validation scope for the current thread. The scope is nested in the currently active scope.
+     *
+     * @return the validation scope
+     */
+    static ValidationScope open() {
+        ValidationScope scope = new ValidationScope(CURRENT_SCOPE.get());
+        CURRENT_SCOPE.set(scope);
+        return scope;
+    }
+
+    /**
+     * Returns the innermost validation scope of the current thread.
+     *
+     * @return the active scope, or <code>null</code> if no scope is active
+     */
+    @CheckForNull
+    static ValidationScope current() {
+        return CURRENT_SCOPE.get();
+    }
+
+    @CheckForNull
+    private final ValidationScope parent;
+    /** Either a {@link Formatter formatted message} or a {@link Supplier} of the message. */
+    private Object[] messages = NO_MESSAGES;
+    private Object[][] arguments = new Object[0][];
+    private int size;
+    private boolean isClosed;
+
+    private ValidationScope(@CheckForNull final ValidationScope parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Records a violation.
+     *
+     * @param message
+     *            either a {@link Formatter formatted message} or a {@link Supplier} of the message
+     * @param args
+     *            the arguments of the formatted message
+     */
+    void record(final Object message, final Object[] args) {
+        if (size == messages.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            messages = Arrays.copyOf(messages, capacity);
+            arguments = Arrays.copyOf(arguments, capacity);
+        }
+        messages[size] = message;
+        arguments[size] = args;
+        size++;
+    }
+
+    /**
+     * Returns the number of violations that have been recorded so far.
+     *
+     * @return the number of violations
+     */
+    public int getViolationCount() {
+        return size;
+    }
+
+    /**
+     * Closes this scope. If at least one violation has been recorded then an {@link AssertionFailedException} is
+     * thrown that contains all violations. This exception is not counted in the {@link AssertionFailureMetrics}
+     * since each violation has already been counted when it was recorded.
+     *
+     * @throws AssertionFailedException
+     *             if at least one check failed within this scope
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        if (CURRENT_SCOPE.get() != this) {
+            AssertionFailureMetrics.recordFailure();
+            throw new AssertionFailedException("Validation scopes must be closed in reverse order of creation.");
+        }
+        if (parent == null) {
+            CURRENT_SCOPE.remove();
+        }
+        else {
+            CURRENT_SCOPE.set(parent);
+        }
+
+        if (size > 0) {
+            throw new AssertionFailedException(formatViolations());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> formatViolations() {
+        List<String> violations = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            if (messages[i] instanceof Supplier) {
+                violations.add(((Supplier<String>)messages[i]).get());
+            }
+            else {
+                violations.add(String.format((String)messages[i], arguments[i]));
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,77 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link AssertionFailedException}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class AssertionFailedExceptionTest {
+    private static final String MESSAGE = "Message";
+
+    /** Restores the default mode. */
+    @After
+    public void restoreDefaultMode() {
+        AssertionFailedException.setLightweight(false);
+    }
+
+    /**
+     * Verifies that exceptions capture a stack trace by default.
+     */
+    @Test
+    public void testDefaultModeCapturesStackTrace() {
+        assertFalse("Lightweight by default", AssertionFailedException.isLightweight());
+
+        AssertionFailedException exception = new AssertionFailedException(MESSAGE);
+
+        assertTrue("No stack trace", exception.getStackTrace().length > 0);
+        assertNotSame("Fixed message instance is shared",
+                AssertionFailedException.withFixedMessage(MESSAGE), AssertionFailedException.withFixedMessage(MESSAGE));
+    }
+
+    /**
+     * Verifies that lightweight exceptions have no stack trace and cannot be modified.
+     */
+    @Test
+    public void testLightweightModeSkipsStackTrace() {
+        AssertionFailedException.setLightweight(true);
+
+        AssertionFailedException exception = new AssertionFailedException(MESSAGE, new IllegalStateException());
+
+        assertEquals("Wrong message", MESSAGE, exception.getMessage());
+        assertTrue("Wrong cause", exception.getCause() instanceof IllegalStateException);
+        assertEquals("Stack trace captured", 0, exception.getStackTrace().length);
+
+        exception.addSuppressed(new IllegalArgumentException());
+        assertEquals("Suppressed exception added", 0, exception.getSuppressed().length);
+    }
+
+    /**
+     * Verifies that checks with fixed messages throw shared instances in lightweight mode.
+     */
+    @Test
+    public void testLightweightModeSharesFixedMessageInstances() {
+        AssertionFailedException.setLightweight(true);
+
+        AssertionFailedException first = AssertionFailedException.withFixedMessage("100%% done");
+        assertSame("Not shared", first, AssertionFailedException.withFixedMessage("100%% done"));
+        assertEquals("Wrong message", "100% done", first.getMessage());
+
+        assertSame("Not shared", catchNeverReached(), catchNeverReached());
+    }
+
+    private AssertionFailedException catchNeverReached() {
+        try {
+            Ensure.thatStatementIsNeverReached();
+            throw new IllegalStateException("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            return exception;
+        }
+    }
+}
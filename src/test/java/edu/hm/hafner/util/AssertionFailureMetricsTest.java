@@ -0,0 +1,190 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link AssertionFailureMetrics}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class AssertionFailureMetricsTest {
+    private final AssertionFailureMetrics metrics = AssertionFailureMetrics.getInstance();
+
+    /** Starts each test with empty metrics. */
+    @Before
+    public void resetMetrics() {
+        metrics.setEnabled(true);
+        metrics.reset();
+    }
+
+    /** Restores the default state. */
+    @After
+    public void disableMetrics() {
+        metrics.setEnabled(false);
+        metrics.reset();
+        AssertionFailedException.setLightweight(false);
+    }
+
+    /**
+     * Verifies that failures are counted per condition and call site.
+     */
+    @Test
+    public void testCountsFailuresPerConditionAndCallSite() {
+        for (int i = 0; i < 3; i++) {
+            failIsNotNull();
+        }
+        failIsNotBlank();
+        failIteratorIsNotEmpty();
+
+        Map<String, Long> counts = metrics.getFailureCounts();
+        assertEquals("Wrong number of call sites: " + counts, 3, counts.size());
+        assertEquals("Wrong total", 5, metrics.getTotalFailureCount());
+        assertEquals("Wrong count", Long.valueOf(3), getCount(counts, "ObjectCondition.isNotNull at "
+                + AssertionFailureMetricsTest.class.getName() + ".failIsNotNull"));
+        assertEquals("Wrong count", Long.valueOf(1), getCount(counts, "StringCondition.isNotBlank at "
+                + AssertionFailureMetricsTest.class.getName() + ".failIsNotBlank"));
+        assertEquals("Wrong count", Long.valueOf(1), getCount(counts, "IteratorCondition.next at "
+                + AssertionFailureMetricsTest.class.getName() + ".failIteratorIsNotEmpty"));
+
+        metrics.reset();
+        assertTrue("Not reset", metrics.getFailureCounts().isEmpty());
+    }
+
+    /**
+     * Verifies that failures of the argument checks of other classes of this package are counted for the caller of
+     * these classes.
+     */
+    @Test
+    public void testCountsFailuresOfArgumentChecks() {
+        failSingleton();
+        failPropertyKey();
+
+        Map<String, Long> counts = metrics.getFailureCounts();
+        assertEquals("Wrong number of call sites: " + counts, 2, counts.size());
+        assertEquals("Wrong count", Long.valueOf(1), getCount(counts, "Singleton.get at "
+                + AssertionFailureMetricsTest.class.getName() + ".failSingleton"));
+        assertEquals("Wrong count", Long.valueOf(1), getCount(counts, "PropertyKey.of at "
+                + AssertionFailureMetricsTest.class.getName() + ".failPropertyKey"));
+    }
+
+    /**
+     * Verifies that passing checks and disabled metrics do not count anything.
+     */
+    @Test
+    public void testIgnoresPassingChecksAndDisabledMetrics() {
+        Ensure.that("value").isNotNull();
+        Ensure.that("value").isNotBlank();
+
+        metrics.setEnabled(false);
+        failIsNotNull();
+
+        assertEquals("Wrong total", 0, metrics.getTotalFailureCount());
+    }
+
+    /**
+     * Verifies that no failure is counted in the lightweight mode of the exceptions.
+     */
+    @Test
+    public void testIgnoresLightweightFailures() {
+        AssertionFailedException.setLightweight(true);
+        failIsNotNull();
+        failIsNotBlank();
+
+        assertEquals("Wrong total", 0, metrics.getTotalFailureCount());
+    }
+
+    /**
+     * Verifies that the metrics are deactivated by default.
+     */
+    @Test
+    public void testIsDisabledByDefault() {
+        assertFalse("Enabled by default", new AssertionFailureMetrics().isEnabled());
+    }
+
+    /**
+     * Verifies that the metrics are registered on the platform MBean server.
+     *
+     * @throws Exception
+     *             if the MBean can't be read
+     */
+    @Test
+    public void testIsRegisteredAsMBean() throws Exception {
+        failIsNotNull();
+
+        Object total = ManagementFactory.getPlatformMBeanServer().getAttribute(
+                new ObjectName(AssertionFailureMetrics.OBJECT_NAME), "TotalFailureCount");
+
+        assertEquals("Wrong total", Long.valueOf(1), total);
+    }
+
+    private Long getCount(final Map<String, Long> counts, final String prefix) {
+        for (Entry<String, Long> entry : counts.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void failIsNotNull() {
+        try {
+            Ensure.that((Object)null).isNotNull();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+
+    private void failSingleton() {
+        try {
+            Singleton.get(Collections.emptyList());
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+
+    private void failPropertyKey() {
+        try {
+            PropertyKey.of(null);
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+
+    private void failIteratorIsNotEmpty() {
+        try {
+            Ensure.that(Collections.singleton(null).iterator()).isNotEmpty().next();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+
+    private void failIsNotBlank() {
+        try {
+            Ensure.that(" ").isNotBlank();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            // expected
+        }
+    }
+}
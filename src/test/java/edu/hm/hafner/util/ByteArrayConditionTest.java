@@ -0,0 +1,50 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link ByteArrayCondition}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class ByteArrayConditionTest {
+    /**
+     * Verifies that passing checks do not throw an exception.
+     */
+    @Test
+    public void testPassingChecks() {
+        byte[] values = {0, 'A', Byte.MAX_VALUE};
+
+        Ensure.that(values).isNotEmpty();
+        Ensure.that(values).hasAllNonNegative();
+        Ensure.that(values).hasAllInRange(0, Byte.MAX_VALUE);
+        Ensure.that(values).isSorted();
+    }
+
+    /**
+     * Verifies that violations are reported with the index of the element.
+     */
+    @Test
+    public void testReportsIndexOfViolation() {
+        byte[] values = new byte[5000];
+        values[4500] = (byte)0xC3;
+
+        try {
+            Ensure.that(values).hasAllNonNegative();
+            fail("Negative byte not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Array element 4500 is negative: -61", exception.getMessage());
+        }
+        try {
+            Ensure.that(values).isSorted();
+            fail("Unsorted byte not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Array is not sorted at index 4499: 0 > -61", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link ByteBufferCondition}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class ByteBufferConditionTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Verifies that the remaining bytes of a direct buffer are validated without changing the buffer.
+     */
+    @Test
+    public void testValidatesDirectBufferInPlace() {
+        byte[] bytes = " \u00e4 value".getBytes(UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+        buffer.put((byte)0xFF).put(bytes).put((byte)0xFF);
+        buffer.position(1).limit(bytes.length + 1);
+
+        Ensure.that(buffer).isNotEmpty();
+        Ensure.that(buffer).isNotBlank();
+        Ensure.that(buffer).isValidUtf8();
+        Ensure.that(buffer).hasLengthBetween(bytes.length, bytes.length);
+
+        assertEquals("Position changed", 1, buffer.position());
+        assertEquals("Limit changed", bytes.length + 1, buffer.limit());
+    }
+
+    /**
+     * Verifies that failures report the absolute index of the offending byte.
+     */
+    @Test
+    public void testFailuresReportAbsoluteIndex() {
+        final ByteBuffer buffer = ByteBuffer.wrap(" a\u00e4".getBytes(UTF_8));
+        buffer.position(1);
+
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(buffer).isAscii();
+            }
+        }, "The buffer contains a non-ASCII byte at index 2");
+
+        final ByteBuffer invalid = ByteBuffer.wrap(new byte[] {'a', (byte)0xC3});
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(invalid).isValidUtf8();
+            }
+        }, "The buffer contains an invalid UTF-8 sequence at index 1");
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(ByteBuffer.wrap(" \u2003".getBytes(UTF_8))).isNotBlank();
+            }
+        }, "The buffer is blank");
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(ByteBuffer.allocate(0)).isNotEmpty();
+            }
+        }, "The buffer is empty or NULL");
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(ByteBuffer.allocate(3)).hasLengthBetween(4, 8);
+            }
+        }, "The buffer length is not between 4 and 8: 3");
+    }
+
+    private void assertFailure(final Runnable check, final String expectedMessage) {
+        try {
+            check.run();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", expectedMessage, exception.getMessage());
+        }
+    }
+}
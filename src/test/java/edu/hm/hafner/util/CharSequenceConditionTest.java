@@ -0,0 +1,80 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.nio.CharBuffer;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link CharSequenceCondition}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class CharSequenceConditionTest {
+    private static final String ERROR_MESSAGE = "Expected Error.";
+
+    /**
+     * Verifies that passing checks do not throw an exception.
+     */
+    @Test
+    public void testPassingChecks() {
+        StringBuilder builder = new StringBuilder(" \tvalue");
+
+        Ensure.that(builder).isNotNull();
+        Ensure.that(builder).isNotEmpty();
+        Ensure.that(builder).isNotBlank();
+        Ensure.that(builder).hasLengthBetween(7, 7);
+        Ensure.that(builder).isAscii();
+        Ensure.that(CharBuffer.wrap("\u00e4 x", 1, 3)).isNotBlank();
+        Ensure.that(CharBuffer.wrap("\u00e4 x", 1, 3)).isAscii();
+    }
+
+    /**
+     * Verifies that failing checks throw an exception.
+     */
+    @Test
+    public void testFailingChecks() {
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(new StringBuilder()).isNotEmpty();
+            }
+        }, "The character sequence is empty or NULL");
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(new StringBuilder(" \u2003")).isNotBlank();
+            }
+        }, "The character sequence is blank");
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(new StringBuilder("abc")).hasLengthBetween(0, 2);
+            }
+        }, "The character sequence length is not between 0 and 2: 3");
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(new StringBuilder("ab\u00e4")).isAscii();
+            }
+        }, "The character sequence contains a non-ASCII character at index 2");
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that((CharSequence)null).isNotBlank(ERROR_MESSAGE);
+            }
+        }, "Object is NULL");
+    }
+
+    private void assertFailure(final Runnable check, final String expectedMessage) {
+        try {
+            check.run();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", expectedMessage, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link Characters}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class CharactersTest {
+    /**
+     * Verifies that the whitespace lookup is equivalent to {@link Character#isWhitespace(char)} for all characters.
+     */
+    @Test
+    public void testIsWhitespaceIsEquivalentToCharacter() {
+        for (int i = Character.MIN_VALUE; i <= Character.MAX_VALUE; i++) {
+            char character = (char)i;
+            assertEquals("Wrong result for character " + i, Character.isWhitespace(character),
+                    Characters.isWhitespace(character));
+        }
+    }
+
+    /**
+     * Verifies that the scans return the index of the first matching character.
+     */
+    @Test
+    public void testScansReturnFirstIndex() {
+        assertEquals("Wrong index", -1, Characters.indexOfNonAscii("\u007f"));
+        assertEquals("Wrong index", 1, Characters.indexOfNonAscii("a\u0080\u00ff"));
+        assertEquals("Wrong index", -1, Characters.indexOfNonDigit("0"));
+        assertEquals("Wrong index", 0, Characters.indexOfNonDigit(""));
+        assertEquals("Wrong index", 1, Characters.indexOfNonDigit("1/"));
+        assertEquals("Wrong index", 1, Characters.indexOfNonDigit("9:"));
+        assertEquals("Wrong index", -1, Characters.indexOfControlCharacter("  "));
+        assertEquals("Wrong index", 1, Characters.indexOfControlCharacter("a\u007f\u0000"));
+    }
+}
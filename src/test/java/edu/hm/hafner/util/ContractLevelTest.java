@@ -0,0 +1,186 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import com.google.common.base.Supplier;
+
+/**
+ * Tests the class {@link ContractLevel}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class ContractLevelTest {
+    private static final String NULL_CHECK = "isNotNull";
+    private static final String EMPTY_CHECK = "isNotEmpty";
+    private static final String ELEMENTS_CHECK = "isNotEmpty with null element";
+    private static final String MATCH_CHECK = "matches";
+    private static final String UNREACHABLE_CHECK = "thatStatementIsNeverReached";
+    private static final String SINGLETON_CHECK = "Singleton.get";
+
+    /**
+     * Verifies that the names of the levels are parsed case insensitive.
+     */
+    @Test
+    public void testParseValidNames() {
+        assertSame("Wrong level", ContractLevel.OFF, ContractLevel.parse("OFF"));
+        assertSame("Wrong level", ContractLevel.CHEAP, ContractLevel.parse("cheap"));
+        assertSame("Wrong level", ContractLevel.FULL, ContractLevel.parse(" Full "));
+    }
+
+    /**
+     * Verifies that all checks are evaluated if the level is not set or invalid.
+     */
+    @Test
+    public void testParseMissingOrInvalidNames() {
+        assertSame("Wrong level", ContractLevel.FULL, ContractLevel.parse(null));
+        assertSame("Wrong level", ContractLevel.FULL, ContractLevel.parse(""));
+        assertSame("Wrong level", ContractLevel.FULL, ContractLevel.parse("none"));
+    }
+
+    /**
+     * Verifies that the tests run with all checks enabled.
+     */
+    @Test
+    public void testDefaultLevel() {
+        assertSame("Wrong level", ContractLevel.FULL, Ensure.getContractLevel());
+    }
+
+    /**
+     * Verifies that no check is evaluated at level {@link ContractLevel#OFF}. Only unreachable code and the contract
+     * of {@link Singleton} still throw an exception.
+     *
+     * @throws Exception
+     *             if the checks could not be loaded in a separate class loader
+     */
+    @Test
+    public void testLevelOff() throws Exception {
+        assertEquals("Wrong failed checks", Arrays.asList(UNREACHABLE_CHECK, SINGLETON_CHECK),
+                runChecks(ContractLevel.OFF));
+    }
+
+    /**
+     * Verifies that only the constant time checks are evaluated at level {@link ContractLevel#CHEAP}, the elements of
+     * an array are not scanned and strings are not matched.
+     *
+     * @throws Exception
+     *             if the checks could not be loaded in a separate class loader
+     */
+    @Test
+    public void testLevelCheap() throws Exception {
+        assertEquals("Wrong failed checks", Arrays.asList(NULL_CHECK, EMPTY_CHECK, UNREACHABLE_CHECK, SINGLETON_CHECK),
+                runChecks(ContractLevel.CHEAP));
+    }
+
+    /**
+     * Verifies that all checks are evaluated at level {@link ContractLevel#FULL}.
+     *
+     * @throws Exception
+     *             if the checks could not be loaded in a separate class loader
+     */
+    @Test
+    public void testLevelFull() throws Exception {
+        assertEquals("Wrong failed checks",
+                Arrays.asList(NULL_CHECK, EMPTY_CHECK, ELEMENTS_CHECK, MATCH_CHECK, UNREACHABLE_CHECK, SINGLETON_CHECK),
+                runChecks(ContractLevel.FULL));
+    }
+
+    /**
+     * Runs the {@link ContractChecks} with the specified contract level. Since the level is read only once when
+     * {@link Ensure} is initialized, the checks are loaded by a new class loader that does not delegate to the class
+     * loader of the tests. The exceptions of the checks are lightweight, so the classes of the new class loader
+     * neither start a {@link FailureLogger} nor register the {@link AssertionFailureMetrics} a second time.
+     *
+     * @param level
+     *            the contract level to use
+     * @return the names of the checks that have thrown an exception
+     * @throws Exception
+     *             if the checks could not be loaded or run
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> runChecks(final ContractLevel level) throws Exception {
+        String previous = System.getProperty(Ensure.CONTRACT_LEVEL_PROPERTY);
+        System.setProperty(Ensure.CONTRACT_LEVEL_PROPERTY, level.name());
+        System.setProperty(AssertionFailedException.LIGHTWEIGHT_PROPERTY, Boolean.TRUE.toString());
+        URLClassLoader loader = new URLClassLoader(new URL[] {getLocation(Ensure.class),
+                getLocation(ContractLevelTest.class), getLocation(Supplier.class)}, null);
+        try {
+            Class<?> checks = Class.forName(ContractChecks.class.getName(), true, loader);
+            assertNotSame("Checks not loaded separately", ContractChecks.class, checks);
+
+            return ((Callable<List<String>>)checks.newInstance()).call();
+        }
+        finally {
+            loader.close();
+            System.clearProperty(AssertionFailedException.LIGHTWEIGHT_PROPERTY);
+            if (previous == null) {
+                System.clearProperty(Ensure.CONTRACT_LEVEL_PROPERTY);
+            }
+            else {
+                System.setProperty(Ensure.CONTRACT_LEVEL_PROPERTY, previous);
+            }
+        }
+    }
+
+    private URL getLocation(final Class<?> type) {
+        return type.getProtectionDomain().getCodeSource().getLocation();
+    }
+
+    /**
+     * Evaluates failing checks of each contract level and returns the names of the checks that have thrown an
+     * exception.
+     */
+    public static class ContractChecks implements Callable<List<String>> {
+        @Override
+        public List<String> call() {
+            List<String> failed = new ArrayList<String>();
+            try {
+                Ensure.that((Object)null).isNotNull();
+            }
+            catch (AssertionFailedException exception) {
+                failed.add(NULL_CHECK);
+            }
+            try {
+                Ensure.that(new Object[0]).isNotEmpty();
+            }
+            catch (AssertionFailedException exception) {
+                failed.add(EMPTY_CHECK);
+            }
+            try {
+                Ensure.that(new Object[] {"element", null}).isNotEmpty();
+            }
+            catch (AssertionFailedException exception) {
+                failed.add(ELEMENTS_CHECK);
+            }
+            try {
+                Ensure.that("value").matches("[0-9]+");
+            }
+            catch (AssertionFailedException exception) {
+                failed.add(MATCH_CHECK);
+            }
+            try {
+                Ensure.thatStatementIsNeverReached();
+            }
+            catch (AssertionFailedException exception) {
+                failed.add(UNREACHABLE_CHECK);
+            }
+            try {
+                Singleton.get(Collections.emptyList());
+            }
+            catch (AssertionFailedException exception) {
+                failed.add(SINGLETON_CHECK);
+            }
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link DoubleArrayCondition}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class DoubleArrayConditionTest {
+    private static final int LARGE_SIZE = 10000;
+
+    /**
+     * Verifies that passing checks do not throw an exception.
+     */
+    @Test
+    public void testPassingChecks() {
+        double[] values = {-Double.MAX_VALUE, -0.0, 0.0, Double.MIN_VALUE, Double.MAX_VALUE};
+
+        Ensure.that(values).isNotEmpty();
+        Ensure.that(values).hasAllFinite();
+        Ensure.that(values).isSorted();
+        Ensure.that(new double[] {-0.0, Double.POSITIVE_INFINITY}).hasAllNonNegative();
+    }
+
+    /**
+     * Verifies that <code>NaN</code> and infinite values are detected in a large array.
+     */
+    @Test
+    public void testDetectsNaNAndInfinity() {
+        double[] values = new double[LARGE_SIZE];
+        Arrays.fill(values, 1.0);
+        values[LARGE_SIZE - 1] = Double.NaN;
+
+        assertFailure(values, "Array element 9999 is not finite: NaN");
+        try {
+            Ensure.that(values).hasAllInRange(0, 2);
+            fail("NaN not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Array element 9999 is not in range [0.0, 2.0]: NaN", exception.getMessage());
+        }
+        try {
+            Ensure.that(values).isSorted();
+            fail("NaN not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Array is not sorted at index 9998: 1.0 > NaN", exception.getMessage());
+        }
+
+        values[LARGE_SIZE - 1] = Double.NEGATIVE_INFINITY;
+        assertFailure(values, "Array element 9999 is not finite: -Infinity");
+    }
+
+    private void assertFailure(final double[] values, final String expectedMessage) {
+        try {
+            Ensure.that(values).hasAllFinite();
+            fail("Infinite value not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", expectedMessage, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link DoubleCondition}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class DoubleConditionTest {
+    /**
+     * Verifies that passing checks do not throw an exception.
+     */
+    @Test
+    public void testPassingChecks() {
+        Ensure.that(Double.MIN_VALUE).isPositive();
+        Ensure.that(-0.0).isNotNegative();
+        Ensure.that(0.5).isInRange(0, 1);
+        Ensure.that(Double.NEGATIVE_INFINITY).isLessThan(0);
+        Ensure.that(Double.MAX_VALUE).isFinite();
+        Ensure.that(Double.POSITIVE_INFINITY).isNotNaN();
+    }
+
+    /**
+     * Verifies that <code>NaN</code> fails all range checks.
+     */
+    @Test
+    public void testNaNFailsAllChecks() {
+        assertFails(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(Double.NaN).isPositive();
+            }
+        }, "Value is not positive: NaN");
+        assertFails(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(Double.NaN).isNotNegative();
+            }
+        }, "Value is negative: NaN");
+        assertFails(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(Double.NaN).isInRange(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+            }
+        }, "Value is not in range [-Infinity, Infinity]: NaN");
+        assertFails(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(Double.NaN).isFinite();
+            }
+        }, "Value is not finite: NaN");
+        assertFails(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(Double.NaN).isNotNaN();
+            }
+        }, "Value is NaN");
+    }
+
+    /**
+     * Verifies that infinite values are not finite.
+     */
+    @Test
+    public void testInfinityIsNotFinite() {
+        assertFails(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(Double.NEGATIVE_INFINITY).isFinite();
+            }
+        }, "Value is not finite: -Infinity");
+    }
+
+    private void assertFails(final Runnable check, final String expectedMessage) {
+        try {
+            check.run();
+            fail("Check passed");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", expectedMessage, exception.getMessage());
+        }
+    }
+}
@@ -1,7 +1,19 @@
 package edu.hm.hafner.util;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.*;
 
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Supplier;
 import com.google.common.collect.Lists;
 
 import org.junit.Test;
@@ -16,6 +28,10 @@ public class EnsureTest {
     private static final String NOT_EMPTY_STRING = "-";
     private static final String EMPTY_STRING = "";
     private static final String ERROR_MESSAGE = "Expected Error.";
+    private static final int WARM_UP_ROUNDS = 20;
+    private static final int ITERATIONS = 100000;
+    private static final long ALLOCATION_TOLERANCE = 4096;
+    private static final TypeSet CHARACTER_SEQUENCES = TypeSet.of(CharSequence.class, Character.class);
 
     /**
      * Checks whether no exception is thrown if we adhere to all contracts.
@@ -199,4 +215,476 @@ public class EnsureTest {
 
         assertEquals("Wrong message concatenation: ", "This error uses 'String.format' to print the number 42.", message);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that a <code>null</code> array of message arguments is formatted like a <code>null</code> argument.
+     */
+    @Test
+    public void testMessageFormatWithNullArguments() {
+        try {
+            Ensure.that((Object)null).isNotNull("Value %s", (Object[])null);
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Value null", exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that checks with up to four values, with or without message arguments, and checks of primitive values
+     * do not allocate any memory if the checks pass. The checks are warmed up before measuring so that the JIT
+     * compiler has optimized them.
+     */
+    @Test
+    public void testPassingChecksDoNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        long threadId = Thread.currentThread().getId();
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            runPassingChecks(ITERATIONS);
+        }
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        runPassingChecks(ITERATIONS);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue("Passing checks allocated " + allocated + " bytes", allocated < ALLOCATION_TOLERANCE);
+    }
+
+    private void runPassingChecks(final int iterations) {
+        Object first = NOT_EMPTY_STRING;
+        Object second = EMPTY_STRING;
+        for (int i = 0; i < iterations; i++) {
+            Ensure.that(first).isNotNull();
+            Ensure.that(first, second).isNotNull();
+            Ensure.that(first, second, first).isNotNull();
+            Ensure.that(first, second, first, second).isNotNull();
+            Ensure.that(first).isNotNull(ERROR_MESSAGE);
+            Ensure.that(first).isNotNull(ERROR_MESSAGE, second);
+            Ensure.that(first).isNotNull(ERROR_MESSAGE, first, second);
+            Ensure.that((Object)null).isNull(ERROR_MESSAGE, first);
+            Ensure.that(i >= 0).isTrue();
+            Ensure.that(i >= 0).isTrue(ERROR_MESSAGE, first);
+            Ensure.that(i < 0).isFalse(ERROR_MESSAGE, first, second);
+            Ensure.that(NOT_EMPTY_STRING).isNotEmpty();
+            Ensure.that(NOT_EMPTY_STRING).isNotBlank();
+            Ensure.that(i).isNotNegative();
+            Ensure.that(i).isInRange(0, iterations);
+            Ensure.that((long)i).isLessThan(Long.MAX_VALUE);
+            Ensure.that((double)i).isFinite();
+            Ensure.that(first).isInstanceOf(CharSequence.class, Integer.class);
+            Ensure.that(first).isInstanceOf(CHARACTER_SEQUENCES);
+        }
+    }
+
+    /**
+     * Verifies that the fixed arity variants detect <code>null</code> values in each position.
+     */
+    @Test
+    public void testFixedArityNullChecks() {
+        assertNullDetected(Ensure.that(null, EMPTY_STRING, EMPTY_STRING, EMPTY_STRING));
+        assertNullDetected(Ensure.that(EMPTY_STRING, null, EMPTY_STRING, EMPTY_STRING));
+        assertNullDetected(Ensure.that(EMPTY_STRING, EMPTY_STRING, null, EMPTY_STRING));
+        assertNullDetected(Ensure.that(EMPTY_STRING, EMPTY_STRING, EMPTY_STRING, null));
+        assertNullDetected(Ensure.that(EMPTY_STRING, EMPTY_STRING, EMPTY_STRING, EMPTY_STRING, null));
+        assertNullDetected(Ensure.that(EMPTY_STRING, EMPTY_STRING, null));
+    }
+
+    private void assertNullDetected(final ObjectCondition condition) {
+        try {
+            condition.isNotNull(ERROR_MESSAGE, EMPTY_STRING);
+            fail("Null value not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", ERROR_MESSAGE, exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that a message supplier is not invoked if the checks pass.
+     */
+    @Test
+    public void testMessageSupplierIsNotInvokedOnSuccess() {
+        CountingSupplier message = new CountingSupplier();
+
+        Ensure.that(true).isTrue(message);
+        Ensure.that(false).isFalse(message);
+        Ensure.that(EMPTY_STRING).isNotNull(message);
+        Ensure.that((Object)null).isNull(message);
+        Ensure.that(EMPTY_STRING).isInstanceOf(String.class, message);
+        Ensure.that(NOT_EMPTY_STRING).isNotEmpty(message);
+        Ensure.that(NOT_EMPTY_STRING).isNotBlank(message);
+        Ensure.that(new String[]{EMPTY_STRING}).isNotEmpty(message);
+        Ensure.that(Lists.newArrayList(EMPTY_STRING)).isNotEmpty(message);
+
+        assertEquals("Supplier has been invoked", 0, message.count);
+    }
+
+    /**
+     * Verifies that the message of a supplier is used if a check fails.
+     */
+    @Test
+    public void testMessageSupplierIsInvokedOnFailure() {
+        CountingSupplier message = new CountingSupplier();
+        try {
+            Ensure.that(new String[]{EMPTY_STRING, null}).isNotEmpty(message);
+            fail("Null element not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", ERROR_MESSAGE, exception.getMessage());
+        }
+        assertEquals("Supplier has not been invoked exactly once", 1, message.count);
+    }
+
+    /**
+     * Supplies {@link #ERROR_MESSAGE} and counts the number of invocations.
+     */
+    private static class CountingSupplier implements Supplier<String> {
+        private int count;
+
+        @Override
+        public String get() {
+            count++;
+            return ERROR_MESSAGE;
+        }
+    }
+
+    /**
+     * Verifies that the emptiness check handles random access lists, other collections and plain iterables.
+     */
+    @Test
+    public void testIterableFastPaths() {
+        Ensure.that(Lists.newArrayList(EMPTY_STRING, NOT_EMPTY_STRING)).isNotEmpty();
+        Ensure.that(new LinkedList<String>(Arrays.asList(EMPTY_STRING, NOT_EMPTY_STRING))).isNotEmpty();
+        Ensure.that(new LinkedHashSet<String>(Arrays.asList(EMPTY_STRING, NOT_EMPTY_STRING))).isNotEmpty();
+        Ensure.that(new SingleUseIterable<String>(EMPTY_STRING, NOT_EMPTY_STRING)).isNotEmpty();
+
+        assertEmptyOrNullDetected(Lists.newArrayList(EMPTY_STRING, null));
+        assertEmptyOrNullDetected(new LinkedList<String>(Arrays.asList(EMPTY_STRING, null)));
+        assertEmptyOrNullDetected(new LinkedHashSet<String>(Arrays.asList(EMPTY_STRING, null)));
+        assertEmptyOrNullDetected(new SingleUseIterable<String>(EMPTY_STRING, null));
+        assertEmptyOrNullDetected(Collections.emptySet());
+        assertEmptyOrNullDetected(new SingleUseIterable<String>());
+    }
+
+    /**
+     * An iterable that can be iterated only once.
+     *
+     * @param <T>
+     *            the type of the elements
+     */
+    private static class SingleUseIterable<T> implements Iterable<T> {
+        private final List<T> elements;
+        private boolean isUsed;
+
+        @SafeVarargs
+        SingleUseIterable(final T... elements) {
+            this.elements = Arrays.asList(elements);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            assertFalse("Iterable has been iterated twice", isUsed);
+            isUsed = true;
+
+            return elements.iterator();
+        }
+    }
+
+    /**
+     * Verifies that the parallel scans detect <code>null</code> elements in arrays and lists.
+     */
+    @Test
+    public void testParallelNullScans() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            String[] array = new String[1000];
+            Arrays.fill(array, NOT_EMPTY_STRING);
+            List<String> list = Arrays.asList(array);
+
+            Ensure.that(array).inParallel(pool, 10).isNotEmpty();
+            Ensure.that(array).inParallel().isNotEmpty();
+            Ensure.that(list).inParallel(pool, 10).isNotEmpty();
+            Ensure.that(new LinkedList<String>(list)).inParallel(pool, 10).isNotEmpty();
+
+            array[array.length - 1] = null;
+            assertEmptyOrNullDetected(Ensure.that(list).inParallel(pool, 10));
+            try {
+                Ensure.that(array).inParallel(pool, 10).isNotEmpty(ERROR_MESSAGE);
+                fail("Null element not detected");
+            }
+            catch (AssertionFailedException exception) {
+                assertEquals("Wrong message", ERROR_MESSAGE, exception.getMessage());
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    private void assertEmptyOrNullDetected(final Iterable<?> iterable) {
+        assertEmptyOrNullDetected(Ensure.that(iterable));
+    }
+
+    private void assertEmptyOrNullDetected(final IterableCondition condition) {
+        try {
+            condition.isNotEmpty(ERROR_MESSAGE);
+            fail("Empty iterable or null element not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", ERROR_MESSAGE, exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that a validation scope records all violations and throws them at once.
+     */
+    @Test
+    public void testValidationScopeCollectsAllViolations() {
+        ValidationScope scope = Ensure.validateAll();
+        Ensure.that((Object)null).isNotNull("First %s", "violation");
+        Ensure.that(true).isTrue();
+        Ensure.that(" ").isNotBlank(new CountingSupplier());
+        Ensure.that((String)null).isNotBlank();
+        Ensure.that((Object)null).isInstanceOf(String.class, "Third");
+        Ensure.that(Lists.newArrayList(EMPTY_STRING, null)).isNotEmpty("Fourth");
+
+        assertEquals("Wrong number of violations", 5, scope.getViolationCount());
+        try {
+            scope.close();
+            fail("Violations not thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong violations",
+                    Lists.newArrayList("First violation", ERROR_MESSAGE, "Object is NULL", "Third", "Fourth"),
+                    exception.getViolations());
+        }
+
+        Ensure.that(false).isFalse();
+        assertFailure(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(true).isFalse(ERROR_MESSAGE);
+            }
+        });
+    }
+
+    /**
+     * Verifies that a validation scope without violations does not throw an exception.
+     */
+    @Test
+    public void testValidationScopeWithoutViolations() {
+        ValidationScope scope = Ensure.validateAll();
+        try {
+            Ensure.that(true).isTrue();
+            Ensure.that(NOT_EMPTY_STRING).isNotBlank();
+        }
+        finally {
+            scope.close();
+        }
+        assertEquals("Violations recorded", 0, scope.getViolationCount());
+    }
+
+    /**
+     * Verifies that nested scopes record violations in the innermost scope only.
+     */
+    @Test
+    public void testNestedValidationScopes() {
+        ValidationScope outer = Ensure.validateAll();
+        Ensure.that(false).isTrue("Outer");
+
+        ValidationScope inner = Ensure.validateAll();
+        Ensure.that(false).isTrue("Inner");
+        try {
+            inner.close();
+            fail("Violations not thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong violations", Lists.newArrayList("Inner"), exception.getViolations());
+        }
+
+        Ensure.that(false).isTrue("Outer again");
+        try {
+            outer.close();
+            fail("Violations not thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong violations", Lists.newArrayList("Outer", "Outer again"), exception.getViolations());
+        }
+    }
+
+    /**
+     * Verifies that unreachable statements throw an exception even within a validation scope.
+     */
+    @Test
+    public void testNeverReachedThrowsWithinScope() {
+        ValidationScope scope = Ensure.validateAll();
+        try {
+            assertFailure(new Runnable() {
+                @Override
+                public void run() {
+                    Ensure.thatStatementIsNeverReached();
+                }
+            });
+        }
+        finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Verifies that the argument checks of the classes of this package throw an exception even within a validation
+     * scope.
+     */
+    @Test
+    public void testLibraryChecksThrowWithinScope() {
+        ValidationScope scope = Ensure.validateAll();
+        try {
+            assertFailure(new Runnable() {
+                @Override
+                public void run() {
+                    ValidationCache.registerImmutable(null);
+                }
+            });
+            assertFailure(new Runnable() {
+                @Override
+                public void run() {
+                    Ensure.that(Collections.emptyList()).inParallel(ForkJoinPools.getSharedPool(), 0);
+                }
+            });
+            assertEquals("Library checks recorded", 0, scope.getViolationCount());
+        }
+        finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Verifies the length and character set checks of strings.
+     */
+    @Test
+    public void testStringLengthAndCharacterChecks() {
+        Ensure.that("abc").hasLengthBetween(3, 3);
+        Ensure.that("abc\u00e4").containsNoControlCharacters();
+        Ensure.that("a\tb ~").isAscii();
+        Ensure.that("0123456789").isDigitsOnly();
+        Ensure.that(" \t\u2003x").isNotBlank();
+
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that("abcd").hasLengthBetween(1, 3);
+            }
+        }, "The string length is not between 1 and 3: 4");
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that("ab\u00e4").isAscii();
+            }
+        }, "The string contains a non-ASCII character at index 2");
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that("12a").isDigitsOnly();
+            }
+        }, "The string is empty or contains a non-digit at index 2");
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that("").isDigitsOnly();
+            }
+        }, "The string is empty or contains a non-digit at index 0");
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that("a\u0085").containsNoControlCharacters(ERROR_MESSAGE);
+            }
+        }, ERROR_MESSAGE);
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(" \u001C\u2003\n").isNotBlank(ERROR_MESSAGE);
+            }
+        }, ERROR_MESSAGE);
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that((String)null).isAscii();
+            }
+        }, "Object is NULL");
+    }
+
+    /**
+     * Verifies the type checks with a precompiled type set.
+     */
+    @Test
+    public void testIsInstanceOfTypeSet() {
+        Ensure.that(NOT_EMPTY_STRING).isInstanceOf(CHARACTER_SEQUENCES);
+        Ensure.that(new StringBuilder()).isInstanceOf(CHARACTER_SEQUENCES, ERROR_MESSAGE);
+
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(Integer.valueOf(1)).isInstanceOf(CHARACTER_SEQUENCES);
+            }
+        }, "Object is of wrong type. Actual: 1. Expected one of: "
+                + "[interface java.lang.CharSequence, class java.lang.Character]");
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that(Boolean.TRUE).isInstanceOf(String.class, Integer.class, Double.class);
+            }
+        }, "Object is of wrong type. Actual: true. Expected one of: [class java.lang.String, class java.lang.Integer, "
+                + "class java.lang.Double]");
+    }
+
+    /**
+     * Verifies that strings are matched with regular expressions and precompiled patterns.
+     */
+    @Test
+    public void testMatches() {
+        Ensure.that("abc-42").matches("[a-z]+-\\d+");
+        Ensure.that("abc-42").matches(Pattern.compile("[a-z]+-\\d+"));
+
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that("abc-42x").matches("[a-z]+-\\d+");
+            }
+        }, "The string does not match the pattern [a-z]+-\\d+: abc-42x");
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that("abc").matches(Pattern.compile("\\d+"), ERROR_MESSAGE);
+            }
+        }, ERROR_MESSAGE);
+        assertFailureMessage(new Runnable() {
+            @Override
+            public void run() {
+                Ensure.that((String)null).matches(".*");
+            }
+        }, "Object is NULL");
+    }
+
+    private void assertFailureMessage(final Runnable check, final String expectedMessage) {
+        try {
+            check.run();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", expectedMessage, exception.getMessage());
+        }
+    }
+
+    private void assertFailure(final Runnable check) {
+        try {
+            check.run();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong violations", Lists.newArrayList(exception.getMessage()), exception.getViolations());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+
+/**
+ * Tests the class {@link FailureLogger}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class FailureLoggerTest {
+    private static final long INTERVAL = 1000;
+
+    private final List<LogRecord> records = new ArrayList<LogRecord>();
+    private final FakeTicker ticker = new FakeTicker();
+    private Logger logger;
+
+    /** Creates a logger that records all log messages. */
+    @Before
+    public void createLogger() {
+        logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                synchronized (records) {
+                    records.add(record);
+                }
+            }
+
+            @Override
+            public void flush() {
+                // nothing to do
+            }
+
+            @Override
+            public void close() {
+                // nothing to do
+            }
+        });
+    }
+
+    /**
+     * Verifies that failures of the same call site are logged only once per interval and that the suppressed
+     * failures are summarized.
+     */
+    @Test
+    public void testSuppressesFailuresOfSameCallSite() {
+        FailureLogger failureLogger = new FailureLogger(logger, 10, INTERVAL, ticker);
+
+        for (int i = 0; i < 3; i++) {
+            failureLogger.process(createFailure());
+        }
+        assertEquals("Wrong number of records", 1, records.size());
+        assertNotNull("No stack trace logged", records.get(0).getThrown());
+
+        failureLogger.flush();
+        assertEquals("Summary logged before interval expired", 1, records.size());
+
+        ticker.time += INTERVAL;
+        failureLogger.flush();
+        assertEquals("No summary logged", 2, records.size());
+        assertTrue("Wrong summary", format(records.get(1)).startsWith("2 similar assertion failures suppressed at "));
+
+        failureLogger.process(createFailure());
+        assertEquals("Failure after interval not logged", 3, records.size());
+    }
+
+    /**
+     * Verifies that the rate limit interval of a call site ends exactly after one interval, even if the suppressed
+     * failures have not been flushed yet.
+     */
+    @Test
+    public void testRateLimitIntervalIsExact() {
+        FailureLogger failureLogger = new FailureLogger(logger, 10, INTERVAL, ticker);
+
+        failureLogger.process(createFailure());
+        ticker.time = INTERVAL - 1;
+        failureLogger.process(createFailure());
+        assertEquals("Failure within interval logged", 1, records.size());
+
+        ticker.time = INTERVAL;
+        failureLogger.process(createFailure());
+        assertEquals("Wrong number of records", 3, records.size());
+        assertTrue("Wrong summary", format(records.get(1)).startsWith("1 similar assertion failures suppressed at "));
+        assertNotNull("No stack trace logged", records.get(2).getThrown());
+
+        ticker.time = 2 * INTERVAL - 1;
+        failureLogger.process(createFailure());
+        assertEquals("Failure within new interval logged", 3, records.size());
+    }
+
+    /**
+     * Verifies that the logging thread keeps running if a log handler throws an exception.
+     *
+     * @throws InterruptedException
+     *             if the test has been interrupted
+     */
+    @Test
+    public void testSurvivesFailingHandler() throws InterruptedException {
+        logger.addHandler(new Handler() {
+            private boolean isFirst = true;
+
+            @Override
+            public void publish(final LogRecord record) {
+                if (isFirst) {
+                    isFirst = false;
+                    throw new IllegalStateException("Expected failure");
+                }
+            }
+
+            @Override
+            public void flush() {
+                // nothing to do
+            }
+
+            @Override
+            public void close() {
+                // nothing to do
+            }
+        });
+        FailureLogger failureLogger = new FailureLogger(logger, 10, INTERVAL, ticker);
+        Thread thread = new Thread(failureLogger);
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            failureLogger.log(createFailure());
+            failureLogger.log(createOtherFailure());
+
+            long timeout = System.currentTimeMillis() + 10000;
+            while (getRecordCount() < 2 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            assertEquals("Wrong number of records", 2, getRecordCount());
+            assertTrue("Logging thread stopped", thread.isAlive());
+        }
+        finally {
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    private int getRecordCount() {
+        synchronized (records) {
+            return records.size();
+        }
+    }
+
+    /**
+     * Verifies that failures of different call sites are logged independently.
+     */
+    @Test
+    public void testLogsEachCallSite() {
+        FailureLogger failureLogger = new FailureLogger(logger, 10, INTERVAL, ticker);
+
+        failureLogger.process(createFailure());
+        failureLogger.process(createOtherFailure());
+        failureLogger.process(new Exception("Stackless", null, false, false) {
+            private static final long serialVersionUID = 1L;
+        });
+
+        assertEquals("Wrong number of records", 3, records.size());
+    }
+
+    /**
+     * Verifies that failures of the argument checks of other classes of the library are logged for each caller of
+     * these classes rather than for the library code that throws the exception.
+     */
+    @Test
+    public void testLogsEachCallerOfSingleton() {
+        FailureLogger failureLogger = new FailureLogger(logger, 10, INTERVAL, ticker);
+
+        failureLogger.process(getSingletonFailure());
+        failureLogger.process(getOtherSingletonFailure());
+        failureLogger.process(getOtherSingletonFailure());
+
+        assertEquals("Wrong number of records", 2, records.size());
+    }
+
+    private Throwable getSingletonFailure() {
+        try {
+            Singleton.get(Collections.emptyList());
+        }
+        catch (AssertionFailedException exception) {
+            return exception;
+        }
+        throw new AssertionError("No exception thrown");
+    }
+
+    private Throwable getOtherSingletonFailure() {
+        try {
+            Singleton.get(Collections.emptyList());
+        }
+        catch (AssertionFailedException exception) {
+            return exception;
+        }
+        throw new AssertionError("No exception thrown");
+    }
+
+    /**
+     * Verifies that failures are dropped and counted if the queue is full.
+     */
+    @Test
+    public void testDropsFailuresIfQueueIsFull() {
+        FailureLogger failureLogger = new FailureLogger(logger, 1, INTERVAL, ticker);
+
+        failureLogger.log(createFailure());
+        failureLogger.log(createFailure());
+        failureLogger.log(createFailure());
+        failureLogger.flush();
+
+        assertEquals("Wrong number of records", 1, records.size());
+        assertEquals("Wrong summary", "2 assertion failures not logged since the logging queue was full",
+                format(records.get(0)));
+    }
+
+    private String format(final LogRecord record) {
+        return MessageFormat.format(record.getMessage(), record.getParameters());
+    }
+
+    private Throwable createFailure() {
+        return new IllegalStateException();
+    }
+
+    private Throwable createOtherFailure() {
+        return new IllegalStateException();
+    }
+
+    /**
+     * Ticker with a time that is set by the test.
+     */
+    private static final class FakeTicker extends Ticker {
+        private long time;
+
+        @Override
+        public long read() {
+            return time;
+        }
+    }
+}
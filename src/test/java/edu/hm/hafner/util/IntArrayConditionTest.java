@@ -0,0 +1,94 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link IntArrayCondition}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class IntArrayConditionTest {
+    /** Spans several chunks, the last one is incomplete. */
+    private static final int LARGE_SIZE = 10000;
+    private static final String ERROR_MESSAGE = "Expected Error.";
+
+    /**
+     * Verifies that passing checks do not throw an exception.
+     */
+    @Test
+    public void testPassingChecks() {
+        int[] values = createSortedArray();
+
+        Ensure.that(values).isNotEmpty();
+        Ensure.that(values).hasAllInRange(0, LARGE_SIZE - 1);
+        Ensure.that(values).hasAllNonNegative();
+        Ensure.that(values).isSorted();
+        Ensure.that(new int[0]).isSorted();
+        Ensure.that(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE}).hasAllInRange(Integer.MIN_VALUE,
+                Integer.MAX_VALUE);
+    }
+
+    /**
+     * Verifies that the first violation in a large array is reported with its index.
+     */
+    @Test
+    public void testReportsIndexOfFirstViolation() {
+        int[] values = createSortedArray();
+        values[LARGE_SIZE - 2] = -1;
+        values[LARGE_SIZE - 1] = -2;
+
+        try {
+            Ensure.that(values).hasAllInRange(0, LARGE_SIZE);
+            fail("Element out of range not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Array element 9998 is not in range [0, 10000]: -1", exception.getMessage());
+        }
+        try {
+            Ensure.that(values).hasAllNonNegative();
+            fail("Negative element not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Array element 9998 is negative: -1", exception.getMessage());
+        }
+        try {
+            Ensure.that(values).isSorted();
+            fail("Unsorted element not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Array is not sorted at index 9997: 9997 > -1", exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that <code>null</code> and empty arrays are detected.
+     */
+    @Test
+    public void testNullAndEmptyArrays() {
+        try {
+            Ensure.that(new int[0]).isNotEmpty(ERROR_MESSAGE);
+            fail("Empty array not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", ERROR_MESSAGE, exception.getMessage());
+        }
+        try {
+            Ensure.that((int[])null).isSorted();
+            fail("Null array not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Array is NULL", exception.getMessage());
+        }
+    }
+
+    private int[] createSortedArray() {
+        int[] values = new int[LARGE_SIZE];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+}
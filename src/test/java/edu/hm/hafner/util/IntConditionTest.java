@@ -0,0 +1,98 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link IntCondition}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class IntConditionTest {
+    private static final String ERROR_MESSAGE = "Expected Error.";
+
+    /**
+     * Verifies that passing checks do not throw an exception.
+     */
+    @Test
+    public void testPassingChecks() {
+        Ensure.that(1).isPositive();
+        Ensure.that(0).isNotNegative();
+        Ensure.that(0).isInRange(0, 0);
+        Ensure.that(Integer.MAX_VALUE).isInRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        Ensure.that(-1).isLessThan(0);
+        Ensure.that(1).isGreaterThan(0, ERROR_MESSAGE);
+    }
+
+    /**
+     * Verifies that failing checks throw an exception with a message that contains the value.
+     */
+    @Test
+    public void testFailingChecks() {
+        try {
+            Ensure.that(0).isPositive();
+            fail("Zero is positive");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Value is not positive: 0", exception.getMessage());
+        }
+        try {
+            Ensure.that(-1).isNotNegative(ERROR_MESSAGE);
+            fail("-1 is not negative");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", ERROR_MESSAGE, exception.getMessage());
+        }
+        try {
+            Ensure.that(11).isInRange(1, 10);
+            fail("11 is in range");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Value is not in range [1, 10]: 11", exception.getMessage());
+        }
+        try {
+            Ensure.that(0).isLessThan(0);
+            fail("0 is less than 0");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Value is not less than 0: 0", exception.getMessage());
+        }
+        try {
+            Ensure.that(0).isGreaterThan(0, "Value %d", 0);
+            fail("0 is greater than 0");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Value 0", exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that explanations with one, two, or more arguments are formatted.
+     */
+    @Test
+    public void testFormatsExplanationArguments() {
+        try {
+            Ensure.that(-1).isNotNegative("Index %d", -1);
+            fail("-1 is not negative");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Index -1", exception.getMessage());
+        }
+        try {
+            Ensure.that(5).isLessThan(5, "Index %d of %s", 5, "list");
+            fail("5 is less than 5");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Index 5 of list", exception.getMessage());
+        }
+        try {
+            Ensure.that(11).isInRange(1, 10, "Index %d of %s with size %d", 11, "list", 10);
+            fail("11 is in range");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Index 11 of list with size 10", exception.getMessage());
+        }
+    }
+}
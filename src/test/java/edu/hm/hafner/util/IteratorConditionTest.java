@@ -0,0 +1,152 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
+import com.google.common.collect.Lists;
+
+/**
+ * Tests the class {@link IteratorCondition}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class IteratorConditionTest {
+    private static final String ERROR_MESSAGE = "Expected Error.";
+    private static final Predicate<String> IS_NOT_EMPTY = new Predicate<String>() {
+        @Override
+        public boolean apply(final String input) {
+            return !input.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "IS_NOT_EMPTY";
+        }
+    };
+
+    /**
+     * Verifies that valid elements are passed through in a single traversal.
+     */
+    @Test
+    public void testPassesValidElements() {
+        List<String> elements = Arrays.asList("a", "b", "c");
+
+        assertEquals("Wrong elements", elements, Lists.newArrayList(Ensure.that(elements.iterator()).isNotEmpty()));
+        assertEquals("Wrong elements", elements,
+                Lists.newArrayList(Ensure.that(elements.iterator()).allMatch(IS_NOT_EMPTY)));
+    }
+
+    /**
+     * Verifies that empty and <code>null</code> iterators are detected before the traversal.
+     */
+    @Test
+    public void testDetectsEmptyIterator() {
+        try {
+            Ensure.that(Arrays.<String>asList().iterator()).isNotEmpty();
+            fail("Empty iterator not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Iterator is empty or NULL", exception.getMessage());
+        }
+        try {
+            Ensure.that((Iterator<String>)null).isNotEmpty(ERROR_MESSAGE);
+            fail("Null iterator not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", ERROR_MESSAGE, exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that a <code>null</code> element is reported with its index when it is consumed.
+     */
+    @Test
+    public void testReportsIndexOfNullElement() {
+        Iterator<String> iterator = Ensure.that(Arrays.asList("a", "b", null, "d").iterator()).isNotEmpty();
+
+        assertEquals("Wrong element", "a", iterator.next());
+        assertEquals("Wrong element", "b", iterator.next());
+        try {
+            iterator.next();
+            fail("Null element not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Iterator element 2 is NULL", exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that an element that does not satisfy the predicate is reported with its index.
+     */
+    @Test
+    public void testReportsIndexOfNotMatchingElement() {
+        Iterator<String> iterator = Ensure.that(Arrays.asList("a", "").iterator()).allMatch(IS_NOT_EMPTY);
+
+        assertEquals("Wrong element", "a", iterator.next());
+        try {
+            iterator.next();
+            fail("Empty element not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Iterator element 1 does not satisfy IS_NOT_EMPTY: ", exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that the index of a failing element is appended to custom messages.
+     */
+    @Test
+    public void testReportsIndexWithCustomMessages() {
+        Iterator<String> explained = Ensure.that(Arrays.asList("a", null).iterator()).isNotEmpty("Missing %s", "row");
+        explained.next();
+        try {
+            explained.next();
+            fail("Null element not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Missing row (iterator element 1)", exception.getMessage());
+        }
+
+        Iterator<String> supplied = Ensure.that(Arrays.asList((String)null).iterator()).isNotEmpty(
+                new Supplier<String>() {
+                    @Override
+                    public String get() {
+                        return "Missing row";
+                    }
+                });
+        try {
+            supplied.next();
+            fail("Null element not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Missing row (iterator element 0)", exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that within a validation scope all failing elements are recorded and still returned.
+     */
+    @Test
+    public void testRecordsFailingElementsWithinScope() {
+        ValidationScope scope = Ensure.validateAll();
+        List<String> elements = Lists.newArrayList(
+                Ensure.that(Arrays.asList(null, "b", null).iterator()).isNotEmpty());
+        assertEquals("Wrong elements", Arrays.asList(null, "b", null), elements);
+        try {
+            scope.close();
+            fail("Violations not thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong violations", Arrays.asList("Iterator element 0 is NULL", "Iterator element 2 is NULL"),
+                    exception.getViolations());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link LongArrayCondition}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class LongArrayConditionTest {
+    /**
+     * Verifies that passing checks do not throw an exception.
+     */
+    @Test
+    public void testPassingChecks() {
+        long[] values = {Long.MIN_VALUE, 0, Long.MAX_VALUE};
+
+        Ensure.that(values).isNotEmpty();
+        Ensure.that(values).hasAllInRange(Long.MIN_VALUE, Long.MAX_VALUE);
+        Ensure.that(values).isSorted();
+        Ensure.that(new long[] {0, Long.MAX_VALUE}).hasAllNonNegative();
+    }
+
+    /**
+     * Verifies that violations are reported with the index of the element.
+     */
+    @Test
+    public void testReportsIndexOfViolation() {
+        try {
+            Ensure.that(new long[] {1, Long.MAX_VALUE}).hasAllInRange(0, Integer.MAX_VALUE);
+            fail("Element out of range not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Array element 1 is not in range [0, 2147483647]: " + Long.MAX_VALUE,
+                    exception.getMessage());
+        }
+        try {
+            Ensure.that(new long[] {1, 1, 0}).isSorted();
+            fail("Unsorted element not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Array is not sorted at index 1: 1 > 0", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link LongCondition}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class LongConditionTest {
+    /**
+     * Verifies that passing checks do not throw an exception.
+     */
+    @Test
+    public void testPassingChecks() {
+        Ensure.that(1L).isPositive();
+        Ensure.that(0L).isNotNegative();
+        Ensure.that(Long.MAX_VALUE).isInRange(0, Long.MAX_VALUE);
+        Ensure.that(Long.MIN_VALUE).isLessThan(0);
+        Ensure.that(Long.MAX_VALUE).isGreaterThan(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Verifies that failing checks throw an exception with a message that contains the value.
+     */
+    @Test
+    public void testFailingChecks() {
+        try {
+            Ensure.that(Long.MIN_VALUE).isPositive();
+            fail("Long.MIN_VALUE is positive");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Value is not positive: " + Long.MIN_VALUE, exception.getMessage());
+        }
+        try {
+            Ensure.that(Long.MAX_VALUE).isInRange(0, Integer.MAX_VALUE);
+            fail("Long.MAX_VALUE is in range");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Value is not in range [0, " + Integer.MAX_VALUE + "]: " + Long.MAX_VALUE,
+                    exception.getMessage());
+        }
+    }
+}
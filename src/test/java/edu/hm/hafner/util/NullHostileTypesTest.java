@@ -0,0 +1,108 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link NullHostileTypes}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class NullHostileTypesTest {
+    /**
+     * Verifies that the registered default types are detected.
+     */
+    @Test
+    public void testDefaultTypes() {
+        assertTrue("ImmutableList", NullHostileTypes.isNullHostile(ImmutableList.of("a")));
+        assertTrue("ImmutableSet", NullHostileTypes.isNullHostile(ImmutableSet.of("a", "b")));
+        assertTrue("EnumSet", NullHostileTypes.isNullHostile(EnumSet.of(TimeUnit.SECONDS)));
+        assertTrue("BlockingQueue", NullHostileTypes.isNullHostile(new LinkedBlockingQueue<String>()));
+        assertTrue("ConcurrentHashMap",
+                NullHostileTypes.isNullHostile(new ConcurrentHashMap<String, String>().keySet()));
+    }
+
+    /**
+     * Verifies that collections that permit <code>null</code> are not detected.
+     */
+    @Test
+    public void testNullFriendlyTypes() {
+        assertFalse("ArrayList", NullHostileTypes.isNullHostile(new ArrayList<String>()));
+        assertFalse("HashSet", NullHostileTypes.isNullHostile(new HashSet<String>()));
+        assertFalse("Unmodifiable",
+                NullHostileTypes.isNullHostile(Collections.unmodifiableList(new ArrayList<String>())));
+    }
+
+    /**
+     * Verifies that additional types can be registered.
+     */
+    @Test
+    public void testRegisterType() {
+        assertFalse("Not registered yet", NullHostileTypes.isNullHostile(new NullHostileIterable()));
+
+        NullHostileTypes.register(NullHostileIterable.class);
+
+        assertTrue("Registered", NullHostileTypes.isNullHostile(new NullHostileIterable()));
+    }
+
+    /**
+     * Verifies that only iterable types can be registered.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testRegisterNonIterableType() {
+        NullHostileTypes.register(String.class);
+    }
+
+    /**
+     * Verifies that the elements of null hostile collections are not scanned.
+     */
+    @Test
+    public void testElementsAreNotScanned() {
+        NullHostileTypes.register(UnscannableList.class);
+
+        Ensure.that(new UnscannableList()).isNotEmpty();
+    }
+
+    /**
+     * An empty iterable that is registered as null hostile.
+     */
+    private static class NullHostileIterable implements Iterable<String> {
+        @Override
+        public Iterator<String> iterator() {
+            return Collections.<String>emptyList().iterator();
+        }
+    }
+
+    /**
+     * A list that fails if its elements are visited.
+     */
+    private static class UnscannableList extends ArrayList<String> {
+        private static final long serialVersionUID = 3470296637364307625L;
+
+        UnscannableList() {
+            super();
+
+            add("element");
+        }
+
+        @Override
+        public String get(final int index) {
+            fail("Elements must not be scanned");
+            return null;
+        }
+    }
+}
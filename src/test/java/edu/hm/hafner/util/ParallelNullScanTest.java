@@ -0,0 +1,82 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link ParallelNullScan}.
+ *
+ * @author Ulli Hafner
+ */
+public class ParallelNullScanTest {
+    private static final int SIZE = 100000;
+    private static final int SEGMENT_SIZE = 1000;
+
+    private static ForkJoinPool pool;
+
+    /** Creates the pool that runs the scans. */
+    @BeforeClass
+    public static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    /** Shuts the pool down. */
+    @AfterClass
+    public static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Verifies that a <code>null</code> element is found at every position of a segment.
+     */
+    @Test
+    public void testFindsNullAtAnyPosition() {
+        Object[] elements = createElements();
+        for (int position : new int[] {0, SEGMENT_SIZE - 1, SEGMENT_SIZE, SIZE / 2, SIZE - 1}) {
+            elements[position] = null;
+
+            assertTrue("Null not found at " + position,
+                    ParallelNullScan.containsNull(pool, Arrays.asList(elements), SEGMENT_SIZE));
+            assertTrue("Null not found in array at " + position,
+                    ParallelNullScan.containsNull(pool, elements, SEGMENT_SIZE));
+
+            elements[position] = position;
+        }
+    }
+
+    /**
+     * Verifies that no <code>null</code> element is reported if there is none.
+     */
+    @Test
+    public void testAcceptsElementsWithoutNull() {
+        assertFalse("Null found", ParallelNullScan.containsNull(pool, Arrays.asList(createElements()), SEGMENT_SIZE));
+        assertFalse("Null found in array", ParallelNullScan.containsNull(pool, createElements(), SEGMENT_SIZE));
+    }
+
+    /**
+     * Verifies that lists that are not larger than the threshold are scanned by the calling thread.
+     */
+    @Test
+    public void testSmallListsAreScannedSequentially() {
+        ForkJoinPool terminated = new ForkJoinPool(1);
+        terminated.shutdown();
+
+        assertTrue("Null not found", ParallelNullScan.containsNull(terminated, Arrays.asList(1, null), 2));
+        assertFalse("Null found", ParallelNullScan.containsNull(terminated, Arrays.asList(1, 2), 2));
+        assertTrue("Null not found in array", ParallelNullScan.containsNull(terminated, new Object[] {1, null}, 2));
+    }
+
+    private Object[] createElements() {
+        Object[] elements = new Object[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            elements[i] = i;
+        }
+        return elements;
+    }
+}
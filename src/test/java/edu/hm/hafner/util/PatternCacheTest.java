@@ -0,0 +1,46 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.Test;
+
+import com.google.common.cache.CacheStats;
+
+/**
+ * Tests the class {@link PatternCache}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class PatternCacheTest {
+    /**
+     * Verifies that a pattern is compiled once and then taken from the cache.
+     */
+    @Test
+    public void testCachesCompiledPatterns() {
+        String regex = "[a-z]+-" + System.nanoTime();
+        CacheStats before = PatternCache.getStatistics();
+
+        Pattern pattern = PatternCache.compile(regex);
+        assertSame("Pattern not cached", pattern, PatternCache.compile(regex));
+        assertEquals("Wrong regex", regex, pattern.pattern());
+
+        CacheStats statistics = PatternCache.getStatistics().minus(before);
+        assertEquals("Wrong number of misses", 1, statistics.missCount());
+        assertEquals("Wrong number of hits", 1, statistics.hitCount());
+
+        PatternCache.clear();
+        assertEquals("Cache not cleared", 0, PatternCache.size());
+    }
+
+    /**
+     * Verifies that invalid regular expressions are reported with a {@link PatternSyntaxException}.
+     */
+    @Test(expected = PatternSyntaxException.class)
+    public void testInvalidRegex() {
+        PatternCache.compile("[a-z");
+    }
+}
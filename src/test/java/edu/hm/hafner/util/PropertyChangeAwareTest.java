@@ -2,9 +2,17 @@ package edu.hm.hafner.util;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
+import org.mockito.InOrder;
 
+import com.google.common.collect.Lists;
+
+import static org.junit.Assert.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
@@ -103,4 +111,409 @@ public class PropertyChangeAwareTest {
         verify(removedListener, times(4)).propertyChange((PropertyChangeEvent)anyObject());
         verify(notRemovedListener, times(8)).propertyChange((PropertyChangeEvent)anyObject());
     }
+
+    /**
+     * Checks that listeners for all properties are notified before the listeners for a specific property.
+     */
+    @Test
+    public void testListenersForAllPropertiesAreNotifiedFirst() {
+        PropertyChangeListener named = mock(PropertyChangeListener.class);
+        PropertyChangeListener global = mock(PropertyChangeListener.class);
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        propertyChangeAware.addPropertyChangeListener(TEST_PROPERTY, named);
+        propertyChangeAware.addPropertyChangeListener(global);
+
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, STRING_OLD_VALUE, STRING_NEW_VALUE);
+
+        InOrder inOrder = inOrder(global, named);
+        inOrder.verify(global).propertyChange((PropertyChangeEvent)anyObject());
+        inOrder.verify(named).propertyChange((PropertyChangeEvent)anyObject());
+    }
+
+    /**
+     * Checks that a listener that has been added twice is notified twice and that removing it removes only one
+     * registration.
+     */
+    @Test
+    public void testDuplicateListenerIsRemovedOnce() {
+        PropertyChangeListener listener = mock(PropertyChangeListener.class);
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        propertyChangeAware.addPropertyChangeListener(listener);
+        propertyChangeAware.addPropertyChangeListener(listener);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, STRING_OLD_VALUE, STRING_NEW_VALUE);
+        verify(listener, times(2)).propertyChange((PropertyChangeEvent)anyObject());
+
+        propertyChangeAware.removePropertyChangeListener(listener);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, STRING_OLD_VALUE, STRING_NEW_VALUE);
+        verify(listener, times(3)).propertyChange((PropertyChangeEvent)anyObject());
+
+        propertyChangeAware.removePropertyChangeListener(listener);
+        propertyChangeAware.removePropertyChangeListener(listener); // not registered anymore
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, STRING_OLD_VALUE, STRING_NEW_VALUE);
+        verify(listener, times(3)).propertyChange((PropertyChangeEvent)anyObject());
+    }
+
+    /**
+     * Checks that a {@link PropertyChangeListenerProxy} is registered for its property only.
+     */
+    @Test
+    public void testProxyIsRegisteredForItsProperty() {
+        PropertyChangeListener listener = mock(PropertyChangeListener.class);
+        PropertyChangeListenerProxy proxy = new PropertyChangeListenerProxy(TEST_PROPERTY, listener);
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        propertyChangeAware.addPropertyChangeListener(proxy);
+
+        propertyChangeAware.firePropertyChangeEvent(TEST_RECEIVER_PROPERTY, STRING_OLD_VALUE, STRING_NEW_VALUE);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, STRING_OLD_VALUE, STRING_NEW_VALUE);
+        verify(listener, times(1)).propertyChange((PropertyChangeEvent)anyObject());
+
+        propertyChangeAware.removePropertyChangeListener(TEST_PROPERTY, listener);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, STRING_OLD_VALUE, STRING_NEW_VALUE);
+        verify(listener, times(1)).propertyChange((PropertyChangeEvent)anyObject());
+    }
+
+    /**
+     * Checks that the fired events have the correct source and values and that events with <code>null</code> values
+     * are always fired.
+     */
+    @Test
+    public void testEventContent() {
+        final List<PropertyChangeEvent> events = Lists.newArrayList();
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        propertyChangeAware.addPropertyChangeListener(TEST_PROPERTY, new PropertyChangeListener() {
+            @Override
+            public void propertyChange(final PropertyChangeEvent event) {
+                events.add(event);
+            }
+        });
+
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, INTEGER_OLD_VALUE, INTEGER_NEW_VALUE);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, null);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, null, null);
+
+        assertEquals("Wrong number of events", 3, events.size());
+        PropertyChangeEvent event = events.get(0);
+        assertSame("Wrong source", propertyChangeAware, event.getSource());
+        assertEquals("Wrong property", TEST_PROPERTY, event.getPropertyName());
+        assertEquals("Wrong old value", INTEGER_OLD_VALUE, event.getOldValue());
+        assertEquals("Wrong new value", INTEGER_NEW_VALUE, event.getNewValue());
+    }
+
+    /**
+     * Checks that events are fired correctly while other threads fire events and add and remove listeners.
+     *
+     * @throws InterruptedException
+     *             if the test is interrupted
+     */
+    @Test
+    public void testConcurrentFiringAndRegistration() throws InterruptedException {
+        final PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        final AtomicInteger received = new AtomicInteger();
+        propertyChangeAware.addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(final PropertyChangeEvent event) {
+                received.incrementAndGet();
+            }
+        });
+
+        final int threadCount = 4;
+        final int eventsPerThread = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = Lists.newArrayList();
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    awaitStart(start);
+                    for (int value = 0; value < eventsPerThread; value++) {
+                        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, value, value + 1);
+                    }
+                }
+            });
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    awaitStart(start);
+                    PropertyChangeListener listener = new PropertyChangeListener() {
+                        @Override
+                        public void propertyChange(final PropertyChangeEvent event) {
+                            // ignore
+                        }
+                    };
+                    for (int count = 0; count < 100; count++) {
+                        propertyChangeAware.addPropertyChangeListener(TEST_PROPERTY, listener);
+                        propertyChangeAware.removePropertyChangeListener(TEST_PROPERTY, listener);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals("Wrong number of received events", threadCount * eventsPerThread, received.get());
+    }
+
+    /**
+     * Checks that primitive listeners receive the values of their type without an event object.
+     */
+    @Test
+    public void testPrimitiveListenersAreNotified() {
+        IntPropertyChangeListener intListener = mock(IntPropertyChangeListener.class);
+        LongPropertyChangeListener longListener = mock(LongPropertyChangeListener.class);
+        DoublePropertyChangeListener doubleListener = mock(DoublePropertyChangeListener.class);
+        BooleanPropertyChangeListener booleanListener = mock(BooleanPropertyChangeListener.class);
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        propertyChangeAware.addPrimitivePropertyChangeListener(intListener);
+        propertyChangeAware.addPrimitivePropertyChangeListener(TEST_PROPERTY, longListener);
+        propertyChangeAware.addPrimitivePropertyChangeListener(doubleListener);
+        propertyChangeAware.addPrimitivePropertyChangeListener(TEST_PROPERTY, booleanListener);
+
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, INTEGER_OLD_VALUE, INTEGER_NEW_VALUE);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, 1L, 2L);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, 1.5, 2.5);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, BOOLEAN_OLD_VALUE, BOOLEAN_NEW_VALUE);
+        propertyChangeAware.firePropertyChangeEvent(TEST_RECEIVER_PROPERTY, 1L, 2L);
+        propertyChangeAware.firePropertyChangeEvent(TEST_RECEIVER_PROPERTY, BOOLEAN_OLD_VALUE, BOOLEAN_NEW_VALUE);
+
+        verify(intListener).propertyChange(propertyChangeAware, TEST_PROPERTY, INTEGER_OLD_VALUE, INTEGER_NEW_VALUE);
+        verify(longListener).propertyChange(propertyChangeAware, TEST_PROPERTY, 1L, 2L);
+        verify(doubleListener).propertyChange(propertyChangeAware, TEST_PROPERTY, 1.5, 2.5);
+        verify(booleanListener).propertyChange(propertyChangeAware, TEST_PROPERTY,
+                BOOLEAN_OLD_VALUE, BOOLEAN_NEW_VALUE);
+        verifyNoMoreInteractions(intListener, longListener, doubleListener, booleanListener);
+    }
+
+    /**
+     * Checks that primitive listeners are not notified if the value has not been changed.
+     */
+    @Test
+    public void testPrimitiveListenersAreNotNotifiedIfNotChanged() {
+        IntPropertyChangeListener intListener = mock(IntPropertyChangeListener.class);
+        LongPropertyChangeListener longListener = mock(LongPropertyChangeListener.class);
+        DoublePropertyChangeListener doubleListener = mock(DoublePropertyChangeListener.class);
+        BooleanPropertyChangeListener booleanListener = mock(BooleanPropertyChangeListener.class);
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        propertyChangeAware.addPrimitivePropertyChangeListener(intListener);
+        propertyChangeAware.addPrimitivePropertyChangeListener(longListener);
+        propertyChangeAware.addPrimitivePropertyChangeListener(doubleListener);
+        propertyChangeAware.addPrimitivePropertyChangeListener(booleanListener);
+
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, INTEGER_OLD_VALUE, INTEGER_OLD_VALUE);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, 1L, 1L);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, Double.NaN, Double.NaN);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, BOOLEAN_OLD_VALUE, BOOLEAN_OLD_VALUE);
+        verifyZeroInteractions(intListener, longListener, doubleListener, booleanListener);
+
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, 0.0, -0.0);
+        verify(doubleListener).propertyChange(propertyChangeAware, TEST_PROPERTY, 0.0, -0.0);
+    }
+
+    /**
+     * Checks that property change listeners receive changes of primitive properties as boxed values and that removed
+     * primitive listeners are not notified anymore.
+     */
+    @Test
+    public void testPrimitiveChangesAreBridged() {
+        final List<PropertyChangeEvent> events = Lists.newArrayList();
+        IntPropertyChangeListener intListener = mock(IntPropertyChangeListener.class);
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        propertyChangeAware.addPrimitivePropertyChangeListener(TEST_PROPERTY, intListener);
+        propertyChangeAware.addPropertyChangeListener(TEST_PROPERTY, new PropertyChangeListener() {
+            @Override
+            public void propertyChange(final PropertyChangeEvent event) {
+                events.add(event);
+            }
+        });
+
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, 1L, 2L);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, 1.5, 2.5);
+        propertyChangeAware.removePrimitivePropertyChangeListener(TEST_PROPERTY, intListener);
+        propertyChangeAware.removePrimitivePropertyChangeListener(intListener); // not registered for all properties
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, INTEGER_OLD_VALUE, INTEGER_NEW_VALUE);
+
+        verifyZeroInteractions(intListener);
+        assertEquals("Wrong number of events", 3, events.size());
+        assertEquals("Wrong new value", Long.valueOf(2L), events.get(0).getNewValue());
+        assertEquals("Wrong new value", Double.valueOf(2.5), events.get(1).getNewValue());
+        assertEquals("Wrong new value", Integer.valueOf(INTEGER_NEW_VALUE), events.get(2).getNewValue());
+    }
+
+    /**
+     * Checks that events fired with a {@link PropertyKey} are received by listeners that are registered by the
+     * property name.
+     */
+    @Test
+    public void testPropertyIsFiredWithKey() {
+        PropertyKey key = PropertyKey.of(TEST_PROPERTY);
+        PropertyChangeListener named = mock(PropertyChangeListener.class);
+        PropertyChangeListener other = mock(PropertyChangeListener.class);
+        IntPropertyChangeListener intListener = mock(IntPropertyChangeListener.class);
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        assertFalse("Listeners registered", propertyChangeAware.hasListeners(key));
+
+        propertyChangeAware.addPropertyChangeListener(TEST_PROPERTY, named);
+        propertyChangeAware.addPrimitivePropertyChangeListener(TEST_PROPERTY, intListener);
+        propertyChangeAware.addPropertyChangeListener(TEST_RECEIVER_PROPERTY, other);
+        assertTrue("No listeners registered", propertyChangeAware.hasListeners(key));
+
+        propertyChangeAware.firePropertyChangeEvent(key, BOOLEAN_OLD_VALUE, BOOLEAN_NEW_VALUE);
+        propertyChangeAware.firePropertyChangeEvent(key, INTEGER_OLD_VALUE, INTEGER_NEW_VALUE);
+        propertyChangeAware.firePropertyChangeEvent(key, 1L, 2L);
+        propertyChangeAware.firePropertyChangeEvent(key, 1.5, 2.5);
+        propertyChangeAware.firePropertyChangeEvent(key, STRING_OLD_VALUE, STRING_NEW_VALUE);
+        propertyChangeAware.firePropertyChangeEvent(key, STRING_OLD_VALUE, STRING_OLD_VALUE);
+        propertyChangeAware.firePropertyChangeEvent(key, INTEGER_OLD_VALUE, INTEGER_OLD_VALUE);
+
+        verify(named, times(5)).propertyChange((PropertyChangeEvent)anyObject());
+        verify(intListener).propertyChange(propertyChangeAware, TEST_PROPERTY, INTEGER_OLD_VALUE, INTEGER_NEW_VALUE);
+        verifyZeroInteractions(other);
+
+        propertyChangeAware.removePropertyChangeListener(TEST_PROPERTY, named);
+        propertyChangeAware.removePrimitivePropertyChangeListener(TEST_PROPERTY, intListener);
+        assertFalse("Listeners registered", propertyChangeAware.hasListeners(key));
+        propertyChangeAware.firePropertyChangeEvent(key, STRING_OLD_VALUE, STRING_NEW_VALUE);
+        verify(named, times(5)).propertyChange((PropertyChangeEvent)anyObject());
+    }
+
+    /**
+     * Checks that registering listeners by name does not create property keys and that a key that is created after
+     * the registration still finds the listeners.
+     */
+    @Test
+    public void testRegistrationDoesNotCreateKeys() {
+        String propertyName = "PropertyChangeAwareTest.dynamic";
+        PropertyChangeListener named = mock(PropertyChangeListener.class);
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        propertyChangeAware.addPropertyChangeListener(propertyName, named);
+        propertyChangeAware.addPropertyChangeListener(TEST_PROPERTY, mock(PropertyChangeListener.class));
+        assertNull("Key created", PropertyKey.find(propertyName));
+
+        propertyChangeAware.firePropertyChangeEvent(propertyName, STRING_OLD_VALUE, STRING_NEW_VALUE);
+        PropertyKey key = PropertyKey.of(propertyName);
+        assertTrue("No listeners registered", propertyChangeAware.hasListeners(key));
+        propertyChangeAware.firePropertyChangeEvent(key, STRING_OLD_VALUE, STRING_NEW_VALUE);
+        verify(named, times(2)).propertyChange((PropertyChangeEvent)anyObject());
+
+        propertyChangeAware.removePropertyChangeListener(propertyName, named);
+        assertFalse("Listeners registered", propertyChangeAware.hasListeners(key));
+        propertyChangeAware.removePropertyChangeListener("PropertyChangeAwareTest.removed", named);
+        assertNull("Key created", PropertyKey.find("PropertyChangeAwareTest.removed"));
+    }
+
+    /**
+     * Checks that the listeners of many properties with keys are found by the key, regardless of the order in which
+     * the keys have been created.
+     */
+    @Test
+    public void testManyPropertiesWithKeys() {
+        int size = 20;
+        PropertyKey[] keys = new PropertyKey[size];
+        PropertyChangeListener[] listeners = new PropertyChangeListener[size];
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        for (int i = size - 1; i >= 0; i--) {
+            keys[i] = PropertyKey.of("PropertyChangeAwareTest.many" + i);
+            listeners[i] = mock(PropertyChangeListener.class);
+            propertyChangeAware.addPropertyChangeListener(keys[i].getName(), listeners[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            propertyChangeAware.firePropertyChangeEvent(keys[i], INTEGER_OLD_VALUE, i + 1);
+        }
+        for (int i = 0; i < size; i++) {
+            verify(listeners[i]).propertyChange((PropertyChangeEvent)anyObject());
+        }
+        assertFalse("Listeners registered",
+                propertyChangeAware.hasListeners(PropertyKey.of("PropertyChangeAwareTest.none")));
+    }
+
+    /**
+     * Checks that the snapshot is empty again after all listeners have been removed, so that firing is skipped.
+     */
+    @Test
+    public void testFiringIsSkippedWithoutListeners() {
+        PropertyChangeListener global = mock(PropertyChangeListener.class);
+        PropertyChangeListener named = mock(PropertyChangeListener.class);
+
+        PropertyChangeListeners listeners = PropertyChangeListeners.EMPTY
+                .add(null, global).add(TEST_PROPERTY, named);
+        assertNotSame("Snapshot is empty", PropertyChangeListeners.EMPTY, listeners);
+        assertSame("Snapshot is not empty", PropertyChangeListeners.EMPTY,
+                listeners.remove(TEST_PROPERTY, named).remove(null, global));
+        assertSame("Snapshot changed", listeners, listeners.remove("PropertyChangeAwareTest.unknown", named));
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        propertyChangeAware.firePropertyChangeEvent((PropertyKey)null, INTEGER_OLD_VALUE, INTEGER_NEW_VALUE); // skipped
+        propertyChangeAware.addPropertyChangeListener(global);
+        try {
+            propertyChangeAware.firePropertyChangeEvent((PropertyKey)null, INTEGER_OLD_VALUE, INTEGER_NEW_VALUE);
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            verifyZeroInteractions(global);
+        }
+    }
+
+    /**
+     * Checks that a listener that implements both listener interfaces can be registered and removed as property
+     * change listener and as primitive listener independently.
+     */
+    @Test
+    public void testListenerImplementingBothInterfaces() {
+        CombinedListener listener = new CombinedListener();
+
+        PropertyChangeAware propertyChangeAware = new PropertyChangeAware();
+        propertyChangeAware.addPropertyChangeListener(TEST_PROPERTY, listener);
+        propertyChangeAware.addPrimitivePropertyChangeListener(TEST_PROPERTY, listener);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, INTEGER_OLD_VALUE, INTEGER_NEW_VALUE);
+
+        assertEquals("Wrong number of events", 1, listener.events.get());
+        assertEquals("Wrong number of int changes", 1, listener.intChanges.get());
+
+        propertyChangeAware.removePrimitivePropertyChangeListener(TEST_PROPERTY, listener);
+        propertyChangeAware.firePropertyChangeEvent(TEST_PROPERTY, INTEGER_NEW_VALUE, INTEGER_OLD_VALUE);
+
+        assertEquals("Wrong number of events", 2, listener.events.get());
+        assertEquals("Wrong number of int changes", 1, listener.intChanges.get());
+    }
+
+    private static void awaitStart(final CountDownLatch start) {
+        try {
+            start.await();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Counts the events and int changes it receives.
+     */
+    private static class CombinedListener implements PropertyChangeListener, IntPropertyChangeListener {
+        private final AtomicInteger events = new AtomicInteger();
+        private final AtomicInteger intChanges = new AtomicInteger();
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent event) {
+            events.incrementAndGet();
+        }
+
+        @Override
+        public void propertyChange(final Object source, final String propertyName, final int oldValue,
+                final int newValue) {
+            intChanges.incrementAndGet();
+        }
+    }
 }
@@ -0,0 +1,395 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+
+/**
+ * Tests the class {@link PropertyChangeDispatcher}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class PropertyChangeDispatcherTest {
+    private static final String PROPERTY = "property";
+    private static final String OTHER_PROPERTY = "other";
+
+    /**
+     * Verifies that events are delivered by the executor and that the queue depth and lag are reported.
+     */
+    @Test
+    public void testEventsAreDeliveredByExecutor() {
+        ManualExecutor executor = new ManualExecutor();
+        FakeTicker ticker = new FakeTicker();
+        PropertyChangeDispatcher dispatcher = new PropertyChangeDispatcher(executor, ticker);
+        RecordingListener listener = new RecordingListener();
+
+        PropertyChangeAware source = new PropertyChangeAware();
+        source.setPropertyChangeDispatcher(dispatcher);
+        source.addPropertyChangeListener(PROPERTY, listener);
+        IntValues intValues = new IntValues();
+        source.addPrimitivePropertyChangeListener(PROPERTY, intValues);
+
+        source.firePropertyChangeEvent(PROPERTY, 1, 2);
+        ticker.time = TimeUnit.MICROSECONDS.toNanos(10);
+        source.firePropertyChangeEvent(PropertyKey.of(PROPERTY), 2, 3);
+        source.firePropertyChangeEvent(OTHER_PROPERTY, 3, 4); // nobody listens
+
+        assertTrue("Listener notified synchronously", listener.values.isEmpty());
+        assertEquals("Wrong queue depth", 2, dispatcher.getQueueDepth());
+        assertEquals("Wrong number of scheduled queues", 1, executor.tasks.size());
+
+        ticker.time = TimeUnit.MICROSECONDS.toNanos(30);
+        executor.runAll();
+
+        assertEquals("Wrong events", list(2, 3), listener.values);
+        assertEquals("Wrong primitive values", list(2, 3), intValues.values);
+        assertEquals("Wrong queue depth", 0, dispatcher.getQueueDepth());
+        assertEquals("Wrong number of events", 2, dispatcher.getDispatchedEventCount());
+        assertEquals("Wrong maximum lag", 30, dispatcher.getMaximumDispatchLag());
+        assertEquals("Wrong average lag", 25, dispatcher.getAverageDispatchLag());
+
+        dispatcher.reset();
+        assertEquals("Wrong number of events", 0, dispatcher.getDispatchedEventCount());
+        assertEquals("Wrong maximum lag", 0, dispatcher.getMaximumDispatchLag());
+        assertEquals("Wrong average lag", 0, dispatcher.getAverageDispatchLag());
+
+        source.setPropertyChangeDispatcher(null);
+        source.firePropertyChangeEvent(PROPERTY, 3, 4);
+        assertEquals("Listener not notified synchronously", list(2, 3, 4), listener.values);
+    }
+
+    /**
+     * Verifies that each property has its own queue and that a queue yields the executor thread after a batch of
+     * events.
+     */
+    @Test
+    public void testPropertiesAreQueuedSeparately() {
+        ManualExecutor executor = new ManualExecutor();
+        PropertyChangeDispatcher dispatcher = new PropertyChangeDispatcher(executor);
+        RecordingListener listener = new RecordingListener();
+
+        PropertyChangeAware source = new PropertyChangeAware();
+        source.setPropertyChangeDispatcher(dispatcher);
+        source.addPropertyChangeListener(listener);
+
+        for (int i = 0; i < 100; i++) {
+            source.firePropertyChangeEvent(PROPERTY, i, i + 1);
+        }
+        source.firePropertyChangeEvent(OTHER_PROPERTY, 0, -1);
+        source.firePropertyChangeEvent(new PropertyChangeEvent(source, null, 0, -2));
+        assertEquals("Wrong number of scheduled queues", 3, executor.tasks.size());
+
+        executor.runNext();
+        assertEquals("Wrong number of delivered events", 64, listener.values.size());
+        assertEquals("Queue not rescheduled", 3, executor.tasks.size());
+
+        executor.runAll();
+        assertEquals("Wrong number of delivered events", 102, listener.values.size());
+        assertEquals("Wrong order", Integer.valueOf(-1), listener.values.get(64));
+        assertEquals("Wrong order", Integer.valueOf(-2), listener.values.get(65));
+        for (int i = 66; i < 102; i++) {
+            assertEquals("Wrong order", Integer.valueOf(i - 1), listener.values.get(i));
+        }
+    }
+
+    /**
+     * Verifies that events of the same property are delivered in order when a thread pool delivers the events.
+     *
+     * @throws InterruptedException
+     *             if the test is interrupted
+     */
+    @Test
+    public void testOrderIsKeptByThreadPool() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            PropertyChangeDispatcher dispatcher = new PropertyChangeDispatcher(pool);
+            assertOrderIsKept(dispatcher);
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that the dispatcher with virtual threads, or its fallback on older JDKs, delivers the events in order.
+     *
+     * @throws InterruptedException
+     *             if the test is interrupted
+     */
+    @Test
+    public void testVirtualThreads() throws InterruptedException {
+        assertOrderIsKept(PropertyChangeDispatcher.withVirtualThreads());
+    }
+
+    /**
+     * Verifies that a virtual thread executor is created exactly on JDKs that support virtual threads.
+     */
+    @Test
+    public void testVirtualThreadExecutorIsCreatedIfSupported() {
+        boolean supported;
+        try {
+            Thread.class.getMethod("ofVirtual");
+            supported = true;
+        }
+        catch (NoSuchMethodException exception) {
+            supported = false;
+        }
+
+        assertEquals("Wrong support of virtual threads", supported,
+                PropertyChangeDispatcher.createVirtualThreadExecutor().isPresent());
+    }
+
+    private void assertOrderIsKept(final PropertyChangeDispatcher dispatcher) throws InterruptedException {
+        final int count = 10000;
+        final CountDownLatch delivered = new CountDownLatch(2 * count);
+        final List<Integer> first = Collections.synchronizedList(new ArrayList<Integer>());
+        final List<Integer> second = Collections.synchronizedList(new ArrayList<Integer>());
+
+        PropertyChangeAware source = new PropertyChangeAware();
+        source.setPropertyChangeDispatcher(dispatcher);
+        source.addPrimitivePropertyChangeListener(PROPERTY, new IntPropertyChangeListener() {
+            @Override
+            public void propertyChange(final Object changed, final String propertyName, final int oldValue,
+                    final int newValue) {
+                first.add(newValue);
+                delivered.countDown();
+            }
+        });
+        source.addPrimitivePropertyChangeListener(OTHER_PROPERTY, new IntPropertyChangeListener() {
+            @Override
+            public void propertyChange(final Object changed, final String propertyName, final int oldValue,
+                    final int newValue) {
+                second.add(newValue);
+                delivered.countDown();
+            }
+        });
+
+        for (int i = 0; i < count; i++) {
+            source.firePropertyChangeEvent(PROPERTY, i, i + 1);
+            source.firePropertyChangeEvent(OTHER_PROPERTY, -i, -i - 1);
+        }
+        assertTrue("Events not delivered", delivered.await(30, TimeUnit.SECONDS));
+
+        for (int i = 0; i < count; i++) {
+            assertEquals("Wrong order", Integer.valueOf(i + 1), first.get(i));
+            assertEquals("Wrong order", Integer.valueOf(-i - 1), second.get(i));
+        }
+        assertEquals("Wrong queue depth", 0, dispatcher.getQueueDepth());
+    }
+
+    /**
+     * Verifies that a failing listener aborts only the delivery of the current event.
+     */
+    @Test
+    public void testFailingListener() {
+        ManualExecutor executor = new ManualExecutor();
+        PropertyChangeDispatcher dispatcher = new PropertyChangeDispatcher(executor);
+        RecordingListener listener = new RecordingListener();
+
+        PropertyChangeAware source = new PropertyChangeAware();
+        source.setPropertyChangeDispatcher(dispatcher);
+        source.addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(final PropertyChangeEvent event) {
+                if (Integer.valueOf(2).equals(event.getNewValue())) {
+                    throw new IllegalStateException("Expected failure");
+                }
+            }
+        });
+        source.addPropertyChangeListener(listener);
+
+        Logger logger = Logger.getLogger(PropertyChangeDispatcher.class.getName());
+        boolean useParentHandlers = logger.getUseParentHandlers();
+        logger.setUseParentHandlers(false);
+        try {
+            source.firePropertyChangeEvent(PROPERTY, 0, 1);
+            source.firePropertyChangeEvent(PROPERTY, 1, 2);
+            source.firePropertyChangeEvent(PROPERTY, 2, 3);
+            executor.runAll();
+        }
+        finally {
+            logger.setUseParentHandlers(useParentHandlers);
+        }
+
+        assertEquals("Wrong events", list(1, 3), listener.values);
+        assertEquals("Wrong number of failed events", 1, dispatcher.getFailedEventCount());
+        assertEquals("Wrong number of events", 3, dispatcher.getDispatchedEventCount());
+    }
+
+    /**
+     * Verifies that events are delivered in the calling thread if the executor rejects the delivery.
+     */
+    @Test
+    public void testRejectingExecutor() {
+        PropertyChangeDispatcher dispatcher = new PropertyChangeDispatcher(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        });
+        RecordingListener listener = new RecordingListener();
+
+        PropertyChangeAware source = new PropertyChangeAware();
+        source.setPropertyChangeDispatcher(dispatcher);
+        source.addPropertyChangeListener(listener);
+        source.firePropertyChangeEvent(PROPERTY, 0, 1);
+
+        assertEquals("Wrong events", list(1), listener.values);
+        assertEquals("Wrong queue depth", 0, dispatcher.getQueueDepth());
+    }
+
+    /**
+     * Verifies that a listener that throws an {@link Error} does not stop the delivery of the following events.
+     */
+    @Test
+    public void testListenerThrowingError() {
+        ManualExecutor executor = new ManualExecutor();
+        PropertyChangeDispatcher dispatcher = new PropertyChangeDispatcher(executor);
+        RecordingListener listener = new RecordingListener();
+
+        PropertyChangeAware source = new PropertyChangeAware();
+        source.setPropertyChangeDispatcher(dispatcher);
+        source.addPropertyChangeListener(listener);
+        source.addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(final PropertyChangeEvent event) {
+                if (Integer.valueOf(1).equals(event.getNewValue())) {
+                    throw new LinkageError("Expected failure");
+                }
+            }
+        });
+
+        source.firePropertyChangeEvent(PROPERTY, 0, 1);
+        source.firePropertyChangeEvent(PROPERTY, 1, 2);
+        try {
+            executor.runNext();
+            fail("Error not propagated to the executor");
+        }
+        catch (LinkageError error) {
+            // expected
+        }
+        executor.runAll();
+        source.firePropertyChangeEvent(PROPERTY, 2, 3);
+        executor.runAll();
+
+        assertEquals("Wrong events", list(1, 2, 3), listener.values);
+        assertEquals("Wrong queue depth", 0, dispatcher.getQueueDepth());
+    }
+
+    /**
+     * Verifies that the remaining events are delivered in a loop rather than recursively if the executor starts to
+     * reject the deliveries.
+     */
+    @Test
+    public void testExecutorRejectingRemainingBatches() {
+        ManualExecutor executor = new ManualExecutor();
+        PropertyChangeDispatcher dispatcher = new PropertyChangeDispatcher(executor);
+        final List<Integer> stackDepths = new ArrayList<Integer>();
+
+        PropertyChangeAware source = new PropertyChangeAware();
+        source.setPropertyChangeDispatcher(dispatcher);
+        source.addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(final PropertyChangeEvent event) {
+                stackDepths.add(new Throwable().getStackTrace().length);
+            }
+        });
+        int events = 300;
+        for (int i = 0; i < events; i++) {
+            source.firePropertyChangeEvent(PROPERTY, i, i + 1);
+        }
+        executor.isRejecting = true;
+        executor.runAll();
+
+        assertEquals("Wrong number of events", events, stackDepths.size());
+        assertEquals("Stack grows with each batch", stackDepths.get(100), stackDepths.get(events - 1));
+        assertEquals("Wrong queue depth", 0, dispatcher.getQueueDepth());
+    }
+
+    private static List<Integer> list(final Integer... values) {
+        List<Integer> list = new ArrayList<Integer>();
+        Collections.addAll(list, values);
+        return list;
+    }
+
+    /**
+     * Records the new values of the received events.
+     */
+    private static final class RecordingListener implements PropertyChangeListener {
+        private final List<Integer> values = new ArrayList<Integer>();
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent event) {
+            values.add((Integer)event.getNewValue());
+        }
+    }
+
+    /**
+     * Records the new values of the received changes.
+     */
+    private static final class IntValues implements IntPropertyChangeListener {
+        private final List<Integer> values = new ArrayList<Integer>();
+
+        @Override
+        public void propertyChange(final Object source, final String propertyName, final int oldValue,
+                final int newValue) {
+            values.add(newValue);
+        }
+    }
+
+    /**
+     * Executor that runs the tasks when the test asks for it.
+     */
+    private static final class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+        private boolean isRejecting;
+
+        @Override
+        public void execute(final Runnable command) {
+            if (isRejecting) {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(command);
+        }
+
+        void runNext() {
+            tasks.remove().run();
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                runNext();
+            }
+        }
+    }
+
+    /**
+     * Ticker with a time that is set by the test.
+     */
+    private static final class FakeTicker extends Ticker {
+        private long time;
+
+        @Override
+        public long read() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link PropertyKey}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class PropertyKeyTest {
+    /**
+     * Verifies that keys are interned and have unique indices.
+     */
+    @Test
+    public void testKeysAreInterned() {
+        PropertyKey first = PropertyKey.of("PropertyKeyTest.first");
+        PropertyKey second = PropertyKey.of("PropertyKeyTest.second");
+
+        assertSame("Key not interned", first, PropertyKey.of(new String("PropertyKeyTest.first")));
+        assertNotSame("Same key for different names", first, second);
+        assertTrue("Same index for different names", first.getIndex() != second.getIndex());
+        assertEquals("Wrong name", "PropertyKeyTest.first", first.getName());
+        assertEquals("Wrong string representation", "PropertyKeyTest.first", first.toString());
+    }
+
+    /**
+     * Verifies that {@link PropertyKey#find(String)} does not create new keys.
+     */
+    @Test
+    public void testFind() {
+        assertNull("Key created", PropertyKey.find("PropertyKeyTest.unknown"));
+        assertNull("Key created", PropertyKey.find("PropertyKeyTest.unknown"));
+
+        PropertyKey key = PropertyKey.of("PropertyKeyTest.known");
+        assertSame("Key not found", key, PropertyKey.find("PropertyKeyTest.known"));
+    }
+}
@@ -0,0 +1,190 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+
+/**
+ * Tests the class {@link SingletonCollector}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class SingletonCollectorTest {
+    /**
+     * Verifies that a single element is returned.
+     */
+    @Test
+    public void testSingleElement() {
+        SingletonCollector<String> collector = Singleton.collector();
+
+        assertTrue("Collector does not accept more elements", collector.accept("1"));
+        assertFalse("Collector contains multiple elements", collector.isMultiple());
+        assertEquals("Wrong element", "1", collector.get());
+        assertEquals("Wrong element", "1", collector.getOrNull());
+        assertEquals("Wrong element", Optional.of("1"), collector.getOptional());
+    }
+
+    /**
+     * Verifies that the collector stops at the second element.
+     */
+    @Test
+    public void testMultipleElements() {
+        SingletonCollector<String> collector = Singleton.collector();
+
+        assertTrue("Collector does not accept more elements", collector.accept("1"));
+        assertFalse("Collector accepts more elements", collector.accept("2"));
+        assertFalse("Collector accepts more elements", collector.accept("3"));
+        assertTrue("Collector contains not multiple elements", collector.isMultiple());
+        assertNull("Element of multiple elements", collector.getOrNull());
+        assertFalse("Element of multiple elements", collector.getOptional().isPresent());
+        try {
+            collector.get();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Collection contains more than one element.", exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that an empty collector and a collector with a <code>null</code> element are rejected.
+     */
+    @Test
+    public void testNoElement() {
+        SingletonCollector<String> empty = Singleton.collector();
+
+        assertNull("Element of empty collector", empty.getOrNull());
+        assertFalse("Element of empty collector", empty.getOptional().isPresent());
+        try {
+            empty.get();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Collection is empty.", exception.getMessage());
+        }
+
+        SingletonCollector<String> nullElement = Singleton.collector();
+        assertTrue("Collector does not accept more elements", nullElement.accept(null));
+        assertNull("Null element", nullElement.getOrNull());
+        assertFalse("Null element", nullElement.getOptional().isPresent());
+        assertFalse("Collector accepts more elements", nullElement.accept(null));
+        assertTrue("Collector contains not multiple elements", nullElement.isMultiple());
+
+        nullElement = Singleton.collector();
+        nullElement.accept(null);
+        try {
+            nullElement.get();
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", "Element in collection must be not NULL.", exception.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that {@link SingletonCollector#acceptAll(Iterator)} does not visit the elements after the second one.
+     */
+    @Test
+    public void testAcceptAllStopsAtSecondElement() {
+        final AtomicInteger visited = new AtomicInteger();
+        Iterator<Integer> elements = new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return visited.incrementAndGet();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        SingletonCollector<Integer> collector = Singleton.collector();
+
+        assertFalse("Collector accepts more elements", collector.acceptAll(elements));
+        assertEquals("Wrong number of visited elements", 2, visited.get());
+
+        collector = Singleton.collector();
+        assertTrue("Collector does not accept more elements", collector.acceptAll(Arrays.asList(1)));
+        assertEquals("Wrong element", Integer.valueOf(1), collector.get());
+    }
+
+    /**
+     * Verifies that partial results are merged.
+     */
+    @Test
+    public void testCombine() {
+        SingletonCollector<String> empty = Singleton.collector();
+        SingletonCollector<String> first = Singleton.collector();
+        first.accept("1");
+        SingletonCollector<String> second = Singleton.collector();
+        second.accept("2");
+
+        assertEquals("Wrong element", "1", Singleton.<String>collector().combine(empty).combine(first).get());
+        assertTrue("Combined collector contains not multiple elements",
+                Singleton.<String>collector().combine(first).combine(second).isMultiple());
+        assertEquals("Combination changed other collector", "2", second.get());
+
+        SingletonCollector<String> multiple = Singleton.collector();
+        multiple.accept("1");
+        multiple.accept("2");
+        assertTrue("Combined collector contains not multiple elements",
+                Singleton.<String>collector().combine(multiple).isMultiple());
+    }
+
+    /**
+     * Verifies that concurrently pushed elements are detected, even if every thread pushes only one element.
+     *
+     * @throws InterruptedException
+     *             if the test is interrupted
+     */
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        for (int round = 0; round < 100; round++) {
+            final SingletonCollector<Integer> collector = Singleton.collector();
+            final CountDownLatch start = new CountDownLatch(1);
+            final AtomicInteger accepted = new AtomicInteger();
+            List<Thread> threads = Lists.newArrayList();
+            for (int i = 0; i < 4; i++) {
+                final int element = i;
+                Thread thread = new Thread() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                        }
+                        catch (InterruptedException exception) {
+                            return;
+                        }
+                        if (collector.accept(element)) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                };
+                thread.start();
+                threads.add(thread);
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals("Wrong number of accepting threads", 1, accepted.get());
+            assertTrue("Collector contains not multiple elements", collector.isMultiple());
+        }
+    }
+}
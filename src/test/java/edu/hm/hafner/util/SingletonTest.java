@@ -2,9 +2,21 @@ package edu.hm.hafner.util;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.google.common.base.Optional;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 import org.junit.Test;
@@ -62,5 +74,187 @@ public class SingletonTest {
     public void testNullSet() {
         Singleton.get(null);
     }
-}
 
+    /**
+     * Verifies the fast paths for random access lists and other collections, and the fallback for iterables.
+     */
+    @Test
+    public void testCollectionTypes() {
+        String string = "String";
+
+        assertEquals("Wrong list element", string, Singleton.get(Lists.newArrayList(string)));
+        assertEquals("Wrong list element", string,
+                Singleton.get(new LinkedList<String>(Collections.singleton(string))));
+        assertEquals("Wrong iterable element", string, Singleton.get(asIterable(string)));
+        assertNull("Wrong iterable element", Singleton.getOrNull(asIterable(string, string)));
+        assertNull("Wrong iterable element", Singleton.getOrNull(asIterable()));
+    }
+
+    /**
+     * Verifies that {@link Singleton#getOrNull(Iterable)} returns <code>null</code> if there is no single element.
+     */
+    @Test
+    public void testGetOrNull() {
+        assertEquals("Wrong element", "1", Singleton.getOrNull(ImmutableList.of("1")));
+        assertNull("Element of empty list", Singleton.getOrNull(ImmutableList.of()));
+        assertNull("Element of two element list", Singleton.getOrNull(ImmutableList.of("1", "2")));
+        assertNull("Element of null", Singleton.getOrNull(null));
+        assertNull("Null element", Singleton.getOrNull(Arrays.asList((String)null)));
+    }
+
+    /**
+     * Verifies that {@link Singleton#getOptional(Iterable)} returns an absent value if there is no single element.
+     */
+    @Test
+    public void testGetOptional() {
+        assertEquals("Wrong element", Optional.of("1"), Singleton.getOptional(Sets.newHashSet("1")));
+        assertFalse("Element of empty set", Singleton.getOptional(new HashSet<String>()).isPresent());
+        assertFalse("Element of two element set", Singleton.getOptional(Sets.newHashSet("1", "2")).isPresent());
+        assertFalse("Null element", Singleton.getOptional(Arrays.asList((String)null)).isPresent());
+    }
+
+    /**
+     * Verifies that a validation scope does not defer the exceptions of {@link Singleton#get(Iterable)}.
+     */
+    @Test
+    public void testGetWithinValidationScope() {
+        ValidationScope scope = Ensure.validateAll();
+        try {
+            try {
+                Singleton.get(Collections.emptyList());
+                fail("No exception thrown for empty list");
+            }
+            catch (AssertionFailedException exception) {
+                assertEquals("Wrong message", "Collection is empty.", exception.getMessage());
+            }
+            try {
+                Singleton.get(Arrays.asList("1", "2"));
+                fail("No exception thrown for two element list");
+            }
+            catch (AssertionFailedException exception) {
+                assertEquals("Wrong message", "Collection contains more than one element.", exception.getMessage());
+            }
+            assertEquals("Violations recorded", 0, scope.getViolationCount());
+        }
+        finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Verifies that {@link Singleton#find(Iterable, Predicate)} returns the only matching element.
+     */
+    @Test
+    public void testFind() {
+        List<String> elements = Arrays.asList("1", "2", "3", "2");
+
+        assertEquals("Wrong match", "1", Singleton.find(elements, Predicates.equalTo("1")));
+        assertEquals("Wrong match", "3", Singleton.find(new LinkedList<String>(elements), Predicates.equalTo("3")));
+        assertEquals("Wrong match", "3", Singleton.find(elements.toArray(new String[0]), Predicates.equalTo("3")));
+
+        assertFindFails(elements, Predicates.equalTo("2"),
+                "More than one element in collection satisfies the predicate.");
+        assertFindFails(elements, Predicates.equalTo("4"), "No element in collection satisfies the predicate.");
+        assertFindFails(Arrays.asList("1", null), Predicates.isNull(), "Element in collection must be not NULL.");
+    }
+
+    /**
+     * Verifies that {@link Singleton#find(Iterable, Predicate)} stops at the second match.
+     */
+    @Test
+    public void testFindStopsAtSecondMatch() {
+        CountingPredicate predicate = new CountingPredicate(Predicates.<Integer>alwaysTrue());
+        try {
+            Singleton.find(new Integer[] {1, 2, 3, 4}, predicate);
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong number of tested elements", 2, predicate.getCount());
+        }
+    }
+
+    /**
+     * Verifies that the parallel search finds the only matching element and detects multiple matches.
+     */
+    @Test
+    public void testFindInParallel() {
+        List<Integer> elements = Lists.newArrayList();
+        for (int i = 0; i < 100000; i++) {
+            elements.add(i);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals("Wrong match", Integer.valueOf(76543),
+                    Singleton.findInParallel(pool, elements, Predicates.equalTo(76543), 100));
+            assertEquals("Wrong match", Integer.valueOf(12),
+                    Singleton.findInParallel(elements, Predicates.equalTo(12)));
+            assertEquals("Wrong match", Integer.valueOf(12), Singleton.findInParallel(pool,
+                    new LinkedList<Integer>(elements), Predicates.equalTo(12), 100));
+
+            CountingPredicate predicate = new CountingPredicate(Predicates.<Integer>alwaysTrue());
+            try {
+                Singleton.findInParallel(pool, elements, predicate, 100);
+                fail("No exception thrown");
+            }
+            catch (AssertionFailedException exception) {
+                assertEquals("Wrong message", "More than one element in collection satisfies the predicate.",
+                        exception.getMessage());
+                assertTrue("Search has not been cancelled: " + predicate.getCount(),
+                        predicate.getCount() < elements.size());
+            }
+            try {
+                Singleton.findInParallel(pool, elements, Predicates.equalTo(-1), 100);
+                fail("No exception thrown");
+            }
+            catch (AssertionFailedException exception) {
+                assertEquals("Wrong message", "No element in collection satisfies the predicate.",
+                        exception.getMessage());
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    private <T> void assertFindFails(final List<T> elements, final Predicate<? super T> predicate,
+            final String expectedMessage) {
+        try {
+            Singleton.find(elements, predicate);
+            fail("No exception thrown");
+        }
+        catch (AssertionFailedException exception) {
+            assertEquals("Wrong message", expectedMessage, exception.getMessage());
+        }
+    }
+
+    /**
+     * Counts the number of tested elements.
+     */
+    private static class CountingPredicate implements Predicate<Integer> {
+        private final Predicate<Integer> delegate;
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingPredicate(final Predicate<Integer> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean apply(final Integer input) {
+            count.incrementAndGet();
+            return delegate.apply(input);
+        }
+
+        int getCount() {
+            return count.get();
+        }
+    }
+
+    private Iterable<String> asIterable(final String... elements) {
+        return new Iterable<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return Arrays.asList(elements).iterator();
+            }
+        };
+    }
+}
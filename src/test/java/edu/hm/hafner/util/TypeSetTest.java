@@ -0,0 +1,49 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link TypeSet}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class TypeSetTest {
+    /**
+     * Verifies that instances of subclasses and implementations are accepted.
+     */
+    @Test
+    public void testIsInstance() {
+        TypeSet types = TypeSet.of(List.class, Number.class);
+
+        assertTrue("List not accepted", types.isInstance(new ArrayList<String>()));
+        assertTrue("Number not accepted", types.isInstance(Integer.valueOf(1)));
+        assertTrue("Number not accepted", types.isInstance(Double.valueOf(1)));
+        assertFalse("String accepted", types.isInstance("String"));
+        assertFalse("Null accepted", types.isInstance(null));
+    }
+
+    /**
+     * Verifies that the cached result is computed per type set.
+     */
+    @Test
+    public void testResultsAreCachedPerTypeSet() {
+        TypeSet serializable = TypeSet.of(Serializable.class);
+        TypeSet randomAccess = TypeSet.of(RandomAccess.class);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue("Not serializable", serializable.isAssignableFrom(ArrayList.class));
+            assertTrue("Not serializable", serializable.isAssignableFrom(String.class));
+            assertTrue("Not random access", randomAccess.isAssignableFrom(ArrayList.class));
+            assertFalse("Random access", randomAccess.isAssignableFrom(String.class));
+        }
+        assertEquals("Wrong string representation", "[interface java.io.Serializable]", serializable.toString());
+    }
+}
@@ -0,0 +1,109 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link Utf8}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class Utf8Test {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Verifies that valid UTF-8 including all sequence lengths is accepted.
+     */
+    @Test
+    public void testValidSequences() {
+        ByteBuffer buffer = encode("a\u00e4\u20ac\ud83d\ude00\u007f\u0080\u07ff\u0800\uffff\udbff\udfff");
+
+        assertEquals("Wrong index", -1, Utf8.indexOfInvalidSequence(buffer));
+        assertEquals("Position changed", 0, buffer.position());
+    }
+
+    /**
+     * Verifies that overlong encodings, surrogates, truncated sequences and code points above U+10FFFF are rejected.
+     */
+    @Test
+    public void testInvalidSequences() {
+        assertInvalidAt(1, 0x41, 0xC0, 0x80);
+        assertInvalidAt(0, 0xC1, 0xBF);
+        assertInvalidAt(0, 0xE0, 0x9F, 0xBF);
+        assertInvalidAt(0, 0xED, 0xA0, 0x80);
+        assertInvalidAt(0, 0xF0, 0x8F, 0xBF, 0xBF);
+        assertInvalidAt(0, 0xF4, 0x90, 0x80, 0x80);
+        assertInvalidAt(0, 0xF5, 0x80, 0x80, 0x80);
+        assertInvalidAt(2, 0x41, 0x42, 0xE2, 0x82);
+        assertInvalidAt(0, 0x80);
+        assertInvalidAt(0, 0xC3, 0x41);
+    }
+
+    /**
+     * Verifies that the validator agrees with the JDK decoder for random byte sequences.
+     */
+    @Test
+    public void testAgreesWithDecoderForRandomBytes() {
+        Random random = new Random(42);
+        CharsetDecoder decoder = UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        for (int i = 0; i < 10000; i++) {
+            byte[] bytes = new byte[random.nextInt(8)];
+            for (int j = 0; j < bytes.length; j++) {
+                bytes[j] = (byte)random.nextInt(256);
+            }
+            boolean isValid;
+            try {
+                decoder.decode(ByteBuffer.wrap(bytes));
+                isValid = true;
+            }
+            catch (CharacterCodingException exception) {
+                isValid = false;
+            }
+            assertEquals("Wrong result for " + toHex(bytes), isValid,
+                    Utf8.indexOfInvalidSequence(ByteBuffer.wrap(bytes)) < 0);
+        }
+    }
+
+    /**
+     * Verifies that only whitespace code points are blank.
+     */
+    @Test
+    public void testIsBlank() {
+        assertTrue("Empty buffer is not blank", Utf8.isBlank(ByteBuffer.allocate(0)));
+        assertTrue("Whitespace is not blank", Utf8.isBlank(encode(" \t\u2003\u3000\n")));
+        assertFalse("Text is blank", Utf8.isBlank(encode(" \u2003x")));
+        assertFalse("No-break space is blank", Utf8.isBlank(encode("\u00a0")));
+        assertFalse("Invalid sequence is blank", Utf8.isBlank(ByteBuffer.wrap(new byte[] {(byte)0xE2, (byte)0x80})));
+    }
+
+    private void assertInvalidAt(final int index, final int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte)values[i];
+        }
+        assertEquals("Wrong index for " + toHex(bytes), index, Utf8.indexOfInvalidSequence(ByteBuffer.wrap(bytes)));
+    }
+
+    private ByteBuffer encode(final String text) {
+        return ByteBuffer.wrap(text.getBytes(UTF_8));
+    }
+
+    private String toHex(final byte[] bytes) {
+        StringBuilder builder = new StringBuilder();
+        for (byte value : bytes) {
+            builder.append(String.format("%02X ", value));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package edu.hm.hafner.util;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link ValidationCache}.
+ *
+ * @author Ulli Hafner
+ */
+@SuppressWarnings("nls")
+public class ValidationCacheTest {
+    /**
+     * Verifies that a registered list is scanned only once. The test modifies the registered list (which violates the
+     * contract of the cache) to show that the second check does not scan the elements again.
+     */
+    @Test
+    public void testRegisteredListIsScannedOnce() {
+        List<String> list = Lists.newArrayList("a", "b");
+        ValidationCache.registerImmutable(list);
+
+        assertFalse("Validated before first check", ValidationCache.isValidated(list));
+        Ensure.that(list).isNotEmpty();
+        assertTrue("Not validated after first check", ValidationCache.isValidated(list));
+
+        list.set(0, null);
+        Ensure.that(list).isNotEmpty();
+    }
+
+    /**
+     * Verifies that a registered array is scanned only once.
+     */
+    @Test
+    public void testRegisteredArrayIsScannedOnce() {
+        String[] array = {"a", "b"};
+        ValidationCache.registerImmutable(array);
+
+        Ensure.that(array).isNotEmpty();
+        assertTrue("Not validated after first check", ValidationCache.isValidated(array));
+    }
+
+    /**
+     * Verifies that unregistered instances are scanned on each check.
+     */
+    @Test(expected = AssertionFailedException.class)
+    public void testUnregisteredListIsScannedAgain() {
+        List<String> list = Lists.newArrayList("a", "b");
+        Ensure.that(list).isNotEmpty();
+        assertFalse("Unregistered list validated", ValidationCache.isValidated(list));
+
+        list.set(0, null);
+        Ensure.that(list).isNotEmpty();
+    }
+
+    /**
+     * Verifies that an invalid registered instance is not marked as validated.
+     */
+    @Test
+    public void testInvalidInstanceIsNotMarked() {
+        List<String> list = Lists.newArrayList("a", null);
+        ValidationCache.registerImmutable(list);
+        try {
+            Ensure.that(list).isNotEmpty();
+            fail("Null element not detected");
+        }
+        catch (AssertionFailedException exception) {
+            assertFalse("Invalid list validated", ValidationCache.isValidated(list));
+        }
+    }
+
+    /**
+     * Verifies that instances are compared by identity.
+     */
+    @Test
+    public void testInstancesAreComparedByIdentity() {
+        List<String> registered = Lists.newArrayList("a");
+        ValidationCache.registerImmutable(registered);
+        Ensure.that(registered).isNotEmpty();
+
+        assertFalse("Equal list validated", ValidationCache.isValidated(Lists.newArrayList("a")));
+    }
+}